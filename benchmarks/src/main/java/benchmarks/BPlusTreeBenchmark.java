@@ -0,0 +1,126 @@
+package benchmarks;
+
+import binarysearchtree.BPlusTree;
+import binarysearchtree.LongBPlusTree;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.PrimitiveIterator;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+// binarysearchtree.BPlusTree and LongBPlusTree against java.util.TreeSet
+// point lookups, range scans of RANGE consecutive keys, random inserts and
+// building from sorted input (TreeSet copies a SortedSet in linear time too)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BPlusTreeBenchmark {
+    static final int RANGE = 1000;
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    int size;
+
+    Integer[] data;
+    Integer[] sorted;
+    long[] sortedLongs;
+    Integer[] probes;
+    BPlusTree<Integer> tree;
+    LongBPlusTree longTree;
+    TreeSet<Integer> treeSet;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        data = BenchmarkData.boxed(BenchmarkData.shuffledInts(size));
+        int[] keys = BenchmarkData.sortedInts(size);
+        sorted = BenchmarkData.boxed(keys);
+        sortedLongs = Arrays.stream(keys).asLongStream().toArray();
+        // half hits, half misses
+        probes = new Integer[1024];
+        for (int i = 0; i < probes.length; i++) probes[i] = (i % 2 == 0) ? data[i % size] : -i - 1;
+        tree = BPlusTree.bulkLoad(Arrays.asList(sorted).iterator());
+        longTree = LongBPlusTree.bulkLoad(sortedLongs);
+        treeSet = new TreeSet<>(Arrays.asList(sorted));
+    }
+
+    @Benchmark
+    public void containsBPlusTree(Blackhole bh) {
+        for (Integer probe : probes) bh.consume(tree.contains(probe));
+    }
+
+    @Benchmark
+    public void containsLongBPlusTree(Blackhole bh) {
+        for (Integer probe : probes) bh.consume(longTree.contains(probe));
+    }
+
+    @Benchmark
+    public void containsTreeSet(Blackhole bh) {
+        for (Integer probe : probes) bh.consume(treeSet.contains(probe));
+    }
+
+    @Benchmark
+    public long rangeScanBPlusTree() {
+        long sum = 0;
+        for (int i = 0; i < probes.length; i += 64) {
+            int lo = data[i % size];
+            Iterator<Integer> it = tree.subSet(lo, lo + RANGE);
+            while (it.hasNext()) sum += it.next();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long rangeScanLongBPlusTree() {
+        long sum = 0;
+        for (int i = 0; i < probes.length; i += 64) {
+            int lo = data[i % size];
+            PrimitiveIterator.OfLong it = longTree.subSet(lo, lo + RANGE);
+            while (it.hasNext()) sum += it.nextLong();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long rangeScanTreeSet() {
+        long sum = 0;
+        for (int i = 0; i < probes.length; i += 64) {
+            int lo = data[i % size];
+            for (Integer elem : treeSet.subSet(lo, lo + RANGE)) sum += elem;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public BPlusTree<Integer> addBPlusTree() {
+        BPlusTree<Integer> bpt = new BPlusTree<>();
+        for (Integer elem : data) bpt.add(elem);
+        return bpt;
+    }
+
+    @Benchmark
+    public TreeSet<Integer> addTreeSet() {
+        TreeSet<Integer> set = new TreeSet<>();
+        for (Integer elem : data) set.add(elem);
+        return set;
+    }
+
+    @Benchmark
+    public BPlusTree<Integer> bulkLoadBPlusTree() {
+        return BPlusTree.bulkLoad(Arrays.asList(sorted).iterator());
+    }
+
+    @Benchmark
+    public LongBPlusTree bulkLoadLongBPlusTree() {
+        return LongBPlusTree.bulkLoad(sortedLongs);
+    }
+
+    @Benchmark
+    public TreeSet<Integer> bulkLoadTreeSet() {
+        return new TreeSet<>(treeSet);
+    }
+}
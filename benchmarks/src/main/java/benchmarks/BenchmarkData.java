@@ -0,0 +1,38 @@
+package benchmarks;
+
+import java.util.SplittableRandom;
+
+// shared inputs for the benchmarks so that every structure (and its
+// java.util baseline) sees exactly the same keys in the same order
+public final class BenchmarkData {
+    private static final long SEED = 42L;
+
+    private BenchmarkData() {
+    }
+
+    // 0..size-1 in a fixed pseudo random order (Fisher-Yates shuffle)
+    public static int[] shuffledInts(int size) {
+        int[] arr = sortedInts(size);
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = arr[i];
+            arr[i] = arr[j];
+            arr[j] = tmp;
+        }
+        return arr;
+    }
+
+    public static int[] sortedInts(int size) {
+        int[] arr = new int[size];
+        for (int i = 0; i < size; i++) arr[i] = i;
+        return arr;
+    }
+
+    // boxed once up front so boxing cost is not measured by the add benchmarks
+    public static Integer[] boxed(int[] arr) {
+        Integer[] boxed = new Integer[arr.length];
+        for (int i = 0; i < arr.length; i++) boxed[i] = arr[i];
+        return boxed;
+    }
+}
@@ -0,0 +1,132 @@
+package benchmarks;
+
+import binarysearchtree.BinarySearchTree;
+import binarysearchtree.TreeTraversalOrder;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Iterator;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+// binarysearchtree.BinarySearchTree against java.util.TreeSet
+// keys are inserted in shuffled order since the tree is not self balancing
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinarySearchTreeBenchmark {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    int size;
+
+    Integer[] data;
+    Integer[] probes;
+    BinarySearchTree<Integer> tree;
+    TreeSet<Integer> treeSet;
+    int nextProbe = 0;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        data = BenchmarkData.boxed(BenchmarkData.shuffledInts(size));
+        // half hits, half misses
+        probes = new Integer[1024];
+        for (int i = 0; i < probes.length; i++) probes[i] = (i % 2 == 0) ? data[i % size] : -i;
+        tree = new BinarySearchTree<>();
+        treeSet = new TreeSet<>();
+        for (Integer elem : data) {
+            tree.add(elem);
+            treeSet.add(elem);
+        }
+    }
+
+    @Benchmark
+    public BinarySearchTree<Integer> addBinarySearchTree() {
+        BinarySearchTree<Integer> bst = new BinarySearchTree<>();
+        for (Integer elem : data) bst.add(elem);
+        return bst;
+    }
+
+    @Benchmark
+    public TreeSet<Integer> addTreeSet() {
+        TreeSet<Integer> set = new TreeSet<>();
+        for (Integer elem : data) set.add(elem);
+        return set;
+    }
+
+    @Benchmark
+    public void containsBinarySearchTree(Blackhole bh) {
+        for (Integer probe : probes) bh.consume(tree.contains(probe));
+    }
+
+    @Benchmark
+    public void containsTreeSet(Blackhole bh) {
+        for (Integer probe : probes) bh.consume(treeSet.contains(probe));
+    }
+
+    // remove a present key and put it back so the structure keeps its size
+    @Benchmark
+    public void removeBinarySearchTree(Blackhole bh) {
+        for (int i = 0; i < probes.length; i += 2) {
+            bh.consume(tree.remove(probes[i]));
+            tree.add(probes[i]);
+        }
+    }
+
+    @Benchmark
+    public void removeTreeSet(Blackhole bh) {
+        for (int i = 0; i < probes.length; i += 2) {
+            bh.consume(treeSet.remove(probes[i]));
+            treeSet.add(probes[i]);
+        }
+    }
+
+    @Benchmark
+    public void inOrderBinarySearchTree(Blackhole bh) {
+        for (Integer elem : tree) bh.consume(elem);
+    }
+
+    @Benchmark
+    public void inOrderTreeSet(Blackhole bh) {
+        for (Integer elem : treeSet) bh.consume(elem);
+    }
+
+    @Benchmark
+    public void levelOrderBinarySearchTree(Blackhole bh) {
+        Iterator<Integer> it = tree.traverse(TreeTraversalOrder.LEVEL_ORDER);
+        while (it.hasNext()) bh.consume(it.next());
+    }
+
+    @Benchmark
+    public long parallelSumBinarySearchTree() {
+        return tree.parallelStream().mapToLong(Integer::longValue).sum();
+    }
+
+    @Benchmark
+    public long parallelSumTreeSet() {
+        return treeSet.parallelStream().mapToLong(Integer::longValue).sum();
+    }
+
+    // order statistics, one probe per call - TreeSet has to count through headSet
+    @Benchmark
+    public int rankBinarySearchTree() {
+        return tree.rank(probes[nextProbe++ & (probes.length - 1)]);
+    }
+
+    @Benchmark
+    public int rankTreeSet() {
+        return treeSet.headSet(probes[nextProbe++ & (probes.length - 1)]).size();
+    }
+
+    @Benchmark
+    public Integer selectBinarySearchTree() {
+        return tree.select((int) (((nextProbe++ & Integer.MAX_VALUE) * 7919L) % size));
+    }
+
+    @Benchmark
+    public int countInRangeBinarySearchTree() {
+        int lo = nextProbe++ & (probes.length - 1);
+        return tree.countInRange(data[lo % size], data[(lo + 1) % size]);
+    }
+}
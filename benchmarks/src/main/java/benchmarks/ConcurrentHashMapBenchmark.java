@@ -0,0 +1,98 @@
+package benchmarks;
+
+import hashtables.StripedConcurrentHashMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// contention benchmark for hashtables.StripedConcurrentHashMap against
+// java.util.concurrent.ConcurrentHashMap and a synchronized HashMap
+// throughput per thread count shows the scaling, e.g.
+//   java -jar benchmarks.jar ConcurrentHashMap -t 1
+//   java -jar benchmarks.jar ConcurrentHashMap -t 8
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentHashMapBenchmark {
+    @Param({"1000", "1000000"})
+    int size;
+
+    Integer[] keys;
+    StripedConcurrentHashMap<Integer, Integer> stripedMap;
+    ConcurrentHashMap<Integer, Integer> concurrentHashMap;
+    Map<Integer, Integer> synchronizedMap;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        keys = BenchmarkData.boxed(BenchmarkData.shuffledInts(size));
+        stripedMap = new StripedConcurrentHashMap<>();
+        concurrentHashMap = new ConcurrentHashMap<>();
+        synchronizedMap = Collections.synchronizedMap(new HashMap<>());
+        for (Integer key : keys) {
+            stripedMap.put(key, key);
+            concurrentHashMap.put(key, key);
+            synchronizedMap.put(key, key);
+        }
+    }
+
+    private Integer randomKey() {
+        return keys[ThreadLocalRandom.current().nextInt(size)];
+    }
+
+    // read only
+    @Benchmark
+    public Integer getStriped() {
+        return stripedMap.get(randomKey());
+    }
+
+    @Benchmark
+    public Integer getConcurrentHashMap() {
+        return concurrentHashMap.get(randomKey());
+    }
+
+    @Benchmark
+    public Integer getSynchronizedMap() {
+        return synchronizedMap.get(randomKey());
+    }
+
+    // 90% reads, 10% overwrites of existing keys
+    @Benchmark
+    public Integer mixedStriped() {
+        Integer key = randomKey();
+        if (ThreadLocalRandom.current().nextInt(10) == 0) return stripedMap.put(key, key);
+        return stripedMap.get(key);
+    }
+
+    @Benchmark
+    public Integer mixedConcurrentHashMap() {
+        Integer key = randomKey();
+        if (ThreadLocalRandom.current().nextInt(10) == 0) return concurrentHashMap.put(key, key);
+        return concurrentHashMap.get(key);
+    }
+
+    @Benchmark
+    public Integer mixedSynchronizedMap() {
+        Integer key = randomKey();
+        if (ThreadLocalRandom.current().nextInt(10) == 0) return synchronizedMap.put(key, key);
+        return synchronizedMap.get(key);
+    }
+
+    // keys are always present, so this measures the lock free fast path
+    @Benchmark
+    public Integer computeIfAbsentStriped() {
+        return stripedMap.computeIfAbsent(randomKey(), k -> k);
+    }
+
+    @Benchmark
+    public Integer computeIfAbsentConcurrentHashMap() {
+        return concurrentHashMap.computeIfAbsent(randomKey(), k -> k);
+    }
+}
@@ -0,0 +1,109 @@
+package benchmarks;
+
+import binarysearchtree.BinarySearchTree;
+import binarysearchtree.ConcurrentSkipList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// many readers and one writer on a shared ordered set: readers call contains,
+// the writer removes a key and adds it back
+// binarysearchtree.ConcurrentSkipList against java.util.concurrent.ConcurrentSkipListSet
+// and a BinarySearchTree behind a ReentrantReadWriteLock
+// the reader count is set per group, e.g. -tg 1,1 and -tg 8,1 (readers, writer)
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentSkipListBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    Integer[] data;
+    ConcurrentSkipList<Integer> skipList;
+    ConcurrentSkipListSet<Integer> skipListSet;
+    BinarySearchTree<Integer> tree;
+    ReentrantReadWriteLock treeLock;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        data = BenchmarkData.boxed(BenchmarkData.shuffledInts(size));
+        skipList = new ConcurrentSkipList<>();
+        skipListSet = new ConcurrentSkipListSet<>();
+        tree = new BinarySearchTree<>();
+        treeLock = new ReentrantReadWriteLock();
+        for (Integer elem : data) {
+            skipList.add(elem);
+            skipListSet.add(elem);
+            tree.add(elem);
+        }
+    }
+
+    Integer randomKey() {
+        return data[ThreadLocalRandom.current().nextInt(size)];
+    }
+
+    @Benchmark
+    @Group("concurrentSkipList")
+    @GroupThreads(3)
+    public boolean concurrentSkipListRead() {
+        return skipList.contains(randomKey());
+    }
+
+    @Benchmark
+    @Group("concurrentSkipList")
+    @GroupThreads(1)
+    public boolean concurrentSkipListWrite() {
+        Integer key = randomKey();
+        skipList.remove(key);
+        return skipList.add(key);
+    }
+
+    @Benchmark
+    @Group("concurrentSkipListSet")
+    @GroupThreads(3)
+    public boolean concurrentSkipListSetRead() {
+        return skipListSet.contains(randomKey());
+    }
+
+    @Benchmark
+    @Group("concurrentSkipListSet")
+    @GroupThreads(1)
+    public boolean concurrentSkipListSetWrite() {
+        Integer key = randomKey();
+        skipListSet.remove(key);
+        return skipListSet.add(key);
+    }
+
+    @Benchmark
+    @Group("readWriteLockedTree")
+    @GroupThreads(3)
+    public boolean readWriteLockedTreeRead() {
+        Integer key = randomKey();
+        treeLock.readLock().lock();
+        try {
+            return tree.contains(key);
+        } finally {
+            treeLock.readLock().unlock();
+        }
+    }
+
+    @Benchmark
+    @Group("readWriteLockedTree")
+    @GroupThreads(1)
+    public boolean readWriteLockedTreeWrite() {
+        Integer key = randomKey();
+        treeLock.writeLock().lock();
+        try {
+            tree.remove(key);
+            return tree.add(key);
+        } finally {
+            treeLock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import stack.ConcurrentStack;
+import stack.Stack;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+
+// a shared free list: every thread returns a buffer and takes one back out
+// stack.ConcurrentStack against java.util.concurrent.ConcurrentLinkedDeque and a synchronized stack.Stack
+// run at several thread counts to see the elimination array at work, e.g. -t 1 and -t 8
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentStackBenchmark {
+    static final int PREFILL = 1024;
+
+    ConcurrentStack<byte[]> concurrentStack;
+    ConcurrentLinkedDeque<byte[]> concurrentLinkedDeque;
+    Stack<byte[]> stack;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        concurrentStack = new ConcurrentStack<>();
+        concurrentLinkedDeque = new ConcurrentLinkedDeque<>();
+        stack = new Stack<>();
+        for (int i = 0; i < PREFILL; i++) {
+            byte[] buffer = new byte[16];
+            concurrentStack.push(buffer);
+            concurrentLinkedDeque.push(buffer);
+            stack.push(buffer);
+        }
+    }
+
+    @Benchmark
+    public byte[] concurrentStack() {
+        byte[] buffer = concurrentStack.popOrNull();
+        if (buffer == null) buffer = new byte[16];
+        concurrentStack.push(buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public byte[] concurrentLinkedDeque() {
+        byte[] buffer = concurrentLinkedDeque.pollFirst();
+        if (buffer == null) buffer = new byte[16];
+        concurrentLinkedDeque.push(buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public byte[] synchronizedStack() {
+        byte[] buffer;
+        synchronized (stack) {
+            buffer = stack.isEmpty() ? new byte[16] : stack.pop();
+        }
+        synchronized (stack) {
+            stack.push(buffer);
+        }
+        return buffer;
+    }
+}
@@ -0,0 +1,83 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import unionfind.ConcurrentUnionFind;
+import unionfind.UnionFind;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// many threads feeding random edges into one shared structure
+// unionfind.ConcurrentUnionFind against unionfind.UnionFind behind a lock
+// run at several thread counts, e.g. -t 1 and -t 8
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentUnionFindBenchmark {
+    static final int EDGES = 1 << 22;
+
+    @Param({"1000000", "10000000"})
+    int size;
+
+    int[] from;
+    int[] to;
+    ConcurrentUnionFind concurrentUnionFind;
+    UnionFind unionFind;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next = 0;
+
+        @Setup(Level.Iteration)
+        public void setup() {
+            // spread the threads over the edge list
+            next = (int) (Thread.currentThread().getId() * 7919) & (EDGES - 1);
+        }
+
+        int nextEdge() {
+            int edge = next;
+            next = (next + 1) & (EDGES - 1);
+            return edge;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setupEdges() {
+        SplittableRandom random = new SplittableRandom(42);
+        from = new int[EDGES];
+        to = new int[EDGES];
+        for (int i = 0; i < EDGES; i++) {
+            from[i] = random.nextInt(size);
+            to[i] = random.nextInt(size);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        concurrentUnionFind = new ConcurrentUnionFind(size);
+        unionFind = new UnionFind(size);
+    }
+
+    @Benchmark
+    public boolean unionConcurrent(Cursor cursor) {
+        int edge = cursor.nextEdge();
+        return concurrentUnionFind.union(from[edge], to[edge]);
+    }
+
+    @Benchmark
+    public int unionLocked(Cursor cursor) {
+        int edge = cursor.nextEdge();
+        synchronized (unionFind) {
+            unionFind.union(from[edge], to[edge]);
+            return unionFind.components();
+        }
+    }
+
+    @Benchmark
+    public int findConcurrent(Cursor cursor) {
+        return concurrentUnionFind.find(from[cursor.nextEdge()]);
+    }
+}
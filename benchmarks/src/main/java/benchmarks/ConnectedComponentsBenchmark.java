@@ -0,0 +1,77 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import unionfind.ConnectedComponents;
+import unionfind.UnionFind;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// connected components of a random graph with 4 edges per vertex stored as an int pair edge file
+// unionfind.ConnectedComponents against mapping the same file and calling UnionFind.union serially
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConnectedComponentsBenchmark {
+    static final int EDGES_PER_VERTEX = 4;
+
+    @Param({"1000000", "10000000"})
+    int size;
+
+    Path file;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        file = Files.createTempFile("edges", ".bin");
+        SplittableRandom random = new SplittableRandom(42);
+        ByteBuffer buf = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            for (long i = 0; i < (long) size * EDGES_PER_VERTEX; i++) {
+                buf.putInt(random.nextInt(size)).putInt(random.nextInt(size));
+                if (!buf.hasRemaining()) {
+                    buf.flip();
+                    while (buf.hasRemaining()) channel.write(buf);
+                    buf.clear();
+                }
+            }
+            buf.flip();
+            while (buf.hasRemaining()) channel.write(buf);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public int parallel() throws IOException {
+        return ConnectedComponents.fromEdgeFile(file, size, ConnectedComponents.EdgeFormat.INT_PAIRS).components();
+    }
+
+    @Benchmark
+    public int serial() throws IOException {
+        UnionFind unionFind = new UnionFind(size);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long bytes = channel.size();
+            // map in chunks below the 2GB limit of a single buffer
+            for (long pos = 0; pos < bytes; pos += 1 << 30) {
+                MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, pos, Math.min(1 << 30, bytes - pos));
+                buf.order(ByteOrder.LITTLE_ENDIAN);
+                while (buf.hasRemaining()) unionFind.union(buf.getInt(), buf.getInt());
+            }
+        }
+        return unionFind.components();
+    }
+}
@@ -0,0 +1,50 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import priorityqueue.PriorityQueue;
+
+import java.util.concurrent.TimeUnit;
+
+// priorityqueue.PriorityQueue with 2, 4 and 8 children per node against java.util.PriorityQueue
+// at heap sizes past the last level cache, where the shallower tree pays off on poll
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DaryHeapBenchmark {
+    @Param({"100000", "1000000", "10000000"})
+    int size;
+
+    @Param({"2", "4", "8"})
+    int arity;
+
+    Integer[] data;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        data = BenchmarkData.boxed(BenchmarkData.shuffledInts(size));
+    }
+
+    @Benchmark
+    public PriorityQueue<Integer> addPriorityQueue() {
+        PriorityQueue<Integer> pq = new PriorityQueue<>(size, arity);
+        for (Integer elem : data) pq.add(elem);
+        return pq;
+    }
+
+    // heapify and then drain in priority order
+    @Benchmark
+    public void pollPriorityQueue(Blackhole bh) {
+        PriorityQueue<Integer> pq = new PriorityQueue<>(data, arity);
+        while (!pq.isEmpty()) bh.consume(pq.poll());
+    }
+
+    @Benchmark
+    public void pollJavaPriorityQueue(Blackhole bh) {
+        java.util.PriorityQueue<Integer> pq = new java.util.PriorityQueue<>(java.util.Arrays.asList(data));
+        while (!pq.isEmpty()) bh.consume(pq.poll());
+    }
+}
@@ -0,0 +1,86 @@
+package benchmarks;
+
+import doublylinkedlist.DoublyLinkedList;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+
+// doublylinkedlist.DoublyLinkedList against java.util.ArrayDeque
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DoublyLinkedListBenchmark {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    int size;
+
+    Integer[] data;
+    Integer missing;
+    DoublyLinkedList<Integer> linkedList;
+    ArrayDeque<Integer> arrayDeque;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        data = BenchmarkData.boxed(BenchmarkData.shuffledInts(size));
+        missing = -1;
+        linkedList = new DoublyLinkedList<>();
+        arrayDeque = new ArrayDeque<>();
+        for (Integer elem : data) {
+            linkedList.addLast(elem);
+            arrayDeque.addLast(elem);
+        }
+    }
+
+    @Benchmark
+    public DoublyLinkedList<Integer> addLastDoublyLinkedList() {
+        DoublyLinkedList<Integer> list = new DoublyLinkedList<>();
+        for (Integer elem : data) list.addLast(elem);
+        return list;
+    }
+
+    @Benchmark
+    public ArrayDeque<Integer> addLastArrayDeque() {
+        ArrayDeque<Integer> deque = new ArrayDeque<>();
+        for (Integer elem : data) deque.addLast(elem);
+        return deque;
+    }
+
+    // fill and then drain from the front
+    @Benchmark
+    public void removeFirstDoublyLinkedList(Blackhole bh) {
+        DoublyLinkedList<Integer> list = new DoublyLinkedList<>();
+        for (Integer elem : data) list.addLast(elem);
+        while (!list.isEmpty()) bh.consume(list.removeFirst());
+    }
+
+    @Benchmark
+    public void removeFirstArrayDeque(Blackhole bh) {
+        ArrayDeque<Integer> deque = new ArrayDeque<>();
+        for (Integer elem : data) deque.addLast(elem);
+        while (!deque.isEmpty()) bh.consume(deque.removeFirst());
+    }
+
+    @Benchmark
+    public void iterateDoublyLinkedList(Blackhole bh) {
+        for (Integer elem : linkedList) bh.consume(elem);
+    }
+
+    @Benchmark
+    public void iterateArrayDeque(Blackhole bh) {
+        for (Integer elem : arrayDeque) bh.consume(elem);
+    }
+
+    @Benchmark
+    public boolean containsDoublyLinkedList() {
+        return linkedList.contains(missing);
+    }
+
+    @Benchmark
+    public boolean containsArrayDeque() {
+        return arrayDeque.contains(missing);
+    }
+}
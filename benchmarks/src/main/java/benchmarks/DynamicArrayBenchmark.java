@@ -0,0 +1,95 @@
+package benchmarks;
+
+import arrays.DynamicArray;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+// arrays.DynamicArray against java.util.ArrayList
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DynamicArrayBenchmark {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    int size;
+
+    Integer[] data;
+    Integer missing;
+    DynamicArray<Integer> dynamicArray;
+    ArrayList<Integer> arrayList;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        data = BenchmarkData.boxed(BenchmarkData.shuffledInts(size));
+        missing = -1;
+        dynamicArray = new DynamicArray<>();
+        arrayList = new ArrayList<>();
+        for (Integer elem : data) {
+            dynamicArray.add(elem);
+            arrayList.add(elem);
+        }
+    }
+
+    @Benchmark
+    public DynamicArray<Integer> addDynamicArray() {
+        DynamicArray<Integer> arr = new DynamicArray<>();
+        for (Integer elem : data) arr.add(elem);
+        return arr;
+    }
+
+    @Benchmark
+    public ArrayList<Integer> addArrayList() {
+        ArrayList<Integer> list = new ArrayList<>();
+        for (Integer elem : data) list.add(elem);
+        return list;
+    }
+
+    @Benchmark
+    public void getDynamicArray(Blackhole bh) {
+        for (int i = 0; i < size; i++) bh.consume(dynamicArray.get(i));
+    }
+
+    @Benchmark
+    public void getArrayList(Blackhole bh) {
+        for (int i = 0; i < size; i++) bh.consume(arrayList.get(i));
+    }
+
+    @Benchmark
+    public void iterateDynamicArray(Blackhole bh) {
+        for (Integer elem : dynamicArray) bh.consume(elem);
+    }
+
+    @Benchmark
+    public void iterateArrayList(Blackhole bh) {
+        for (Integer elem : arrayList) bh.consume(elem);
+    }
+
+    // worst case linear scan
+    @Benchmark
+    public boolean containsDynamicArray() {
+        return dynamicArray.contains(missing);
+    }
+
+    @Benchmark
+    public boolean containsArrayList() {
+        return arrayList.contains(missing);
+    }
+
+    // append one element and remove it again so the structure keeps its size
+    @Benchmark
+    public void removeTailDynamicArray() {
+        dynamicArray.add(missing);
+        dynamicArray.removeAt(size);
+    }
+
+    @Benchmark
+    public void removeTailArrayList() {
+        arrayList.add(missing);
+        arrayList.remove(size);
+    }
+}
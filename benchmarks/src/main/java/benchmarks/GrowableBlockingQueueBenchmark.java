@@ -0,0 +1,70 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import queue.GrowableBlockingQueue;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// blocking put/take between producer and consumer threads
+// queue.GrowableBlockingQueue against java.util.concurrent.LinkedBlockingQueue and ArrayBlockingQueue
+// all three are bounded to the same capacity so producers see backpressure
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GrowableBlockingQueueBenchmark {
+    static final int CAPACITY = 1 << 12;
+    static final Integer ELEM = 42;
+
+    GrowableBlockingQueue<Integer> growableQueue;
+    LinkedBlockingQueue<Integer> linkedBlockingQueue;
+    ArrayBlockingQueue<Integer> arrayBlockingQueue;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        growableQueue = new GrowableBlockingQueue<>(16, CAPACITY);
+        linkedBlockingQueue = new LinkedBlockingQueue<>(CAPACITY);
+        arrayBlockingQueue = new ArrayBlockingQueue<>(CAPACITY);
+    }
+
+    // the timed variants let the iteration end even when the other side has stopped
+    @Benchmark
+    @Group("growable")
+    public boolean growablePut() throws InterruptedException {
+        return growableQueue.offer(ELEM, 10, TimeUnit.MILLISECONDS);
+    }
+
+    @Benchmark
+    @Group("growable")
+    public Integer growableTake() throws InterruptedException {
+        return growableQueue.poll(10, TimeUnit.MILLISECONDS);
+    }
+
+    @Benchmark
+    @Group("linkedBlockingQueue")
+    public boolean linkedBlockingQueuePut() throws InterruptedException {
+        return linkedBlockingQueue.offer(ELEM, 10, TimeUnit.MILLISECONDS);
+    }
+
+    @Benchmark
+    @Group("linkedBlockingQueue")
+    public Integer linkedBlockingQueueTake() throws InterruptedException {
+        return linkedBlockingQueue.poll(10, TimeUnit.MILLISECONDS);
+    }
+
+    @Benchmark
+    @Group("arrayBlockingQueue")
+    public boolean arrayBlockingQueuePut() throws InterruptedException {
+        return arrayBlockingQueue.offer(ELEM, 10, TimeUnit.MILLISECONDS);
+    }
+
+    @Benchmark
+    @Group("arrayBlockingQueue")
+    public Integer arrayBlockingQueueTake() throws InterruptedException {
+        return arrayBlockingQueue.poll(10, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,119 @@
+package benchmarks;
+
+import hashtables.HashFunction;
+import hashtables.Murmur3HashFunction;
+import hashtables.WyHashFunction;
+import hashtables.XxHash64HashFunction;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// the hash functions in hashtables against String.hashCode and the old
+// toCharArray character sum, over keys of different lengths
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashFunctionBenchmark {
+    @Param({"8", "32", "256"})
+    int keyLength;
+
+    String key;
+    byte[] keyBytes;
+    HashFunction murmur3 = new Murmur3HashFunction();
+    HashFunction xxHash64 = new XxHash64HashFunction();
+    HashFunction wyHash = new WyHashFunction();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        checkReferenceVectors();
+        SplittableRandom random = new SplittableRandom(42);
+        StringBuilder sb = new StringBuilder(keyLength);
+        for (int i = 0; i < keyLength; i++) sb.append((char) ('a' + random.nextInt(26)));
+        key = sb.toString();
+        keyBytes = key.getBytes(StandardCharsets.UTF_8);
+    }
+
+    // published outputs of the reference implementations, so a benchmark run
+    // never times a hash that is fast because it is wrong
+    private static void checkReferenceVectors() {
+        String fox = "The quick brown fox jumps over the lazy dog";
+        check("murmur3", new Murmur3HashFunction(), fox, 0, 0xe34bbc7bbc071b6cL);
+        check("xxHash64", new XxHash64HashFunction(), "", 0, 0xef46db3751d8e999L);
+        check("xxHash64", new XxHash64HashFunction(), "abc", 0, 0x44bc2cf5ad770999L);
+        check("xxHash64", new XxHash64HashFunction(), fox, 0, 0x0b242d361fda71bcL);
+        // wyhash final 4 test vectors, each hashed with its index as the seed
+        String[] wyInputs = {
+                "", "a", "abc", "message digest", "abcdefghijklmnopqrstuvwxyz",
+                "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789",
+                "12345678901234567890123456789012345678901234567890123456789012345678901234567890"};
+        long[] wyExpected = {
+                0x93228a4de0eec5a2L, 0xc5bac3db178713c4L, 0xa97f2f7b1d9b3314L, 0x786d1f1df3801df4L,
+                0xdca5a8138ad37c87L, 0xb9e734f117cfaf70L, 0x6cc5eab49a92d617L};
+        for (int i = 0; i < wyInputs.length; i++) {
+            check("wyhash", new WyHashFunction(i), wyInputs[i], i, wyExpected[i]);
+        }
+    }
+
+    private static void check(String name, HashFunction hash, String input, int seed, long expected) {
+        long actual = hash.hashBytes(input.getBytes(StandardCharsets.US_ASCII));
+        if (actual != expected) {
+            throw new IllegalStateException(String.format("%s(\"%s\", %d) = %016x, expected %016x",
+                    name, input, seed, actual, expected));
+        }
+    }
+
+    @Benchmark
+    public int characterSum() {
+        // the original HashFunction.hashFunction, kept here as the baseline
+        char[] keyArr = key.toCharArray();
+        int val = 0;
+        for (char letter : keyArr) val += letter;
+        return val;
+    }
+
+    @Benchmark
+    public int stringHashCode() {
+        // String caches its hash, so hash a fresh copy of the chars each time
+        return new String(keyBytes, StandardCharsets.ISO_8859_1).hashCode();
+    }
+
+    @Benchmark
+    public long murmur3Chars() {
+        return murmur3.hashChars(key);
+    }
+
+    @Benchmark
+    public long xxHash64Chars() {
+        return xxHash64.hashChars(key);
+    }
+
+    @Benchmark
+    public long wyHashChars() {
+        return wyHash.hashChars(key);
+    }
+
+    @Benchmark
+    public long murmur3Bytes() {
+        return murmur3.hashBytes(keyBytes);
+    }
+
+    @Benchmark
+    public long xxHash64Bytes() {
+        return xxHash64.hashBytes(keyBytes);
+    }
+
+    @Benchmark
+    public long wyHashBytes() {
+        return wyHash.hashBytes(keyBytes);
+    }
+
+    @Benchmark
+    public long wyHashLong() {
+        return wyHash.hashLong(keyLength);
+    }
+}
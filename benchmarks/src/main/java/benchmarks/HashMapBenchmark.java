@@ -0,0 +1,129 @@
+package benchmarks;
+
+import hashtables.IntIntHashMap;
+import hashtables.LongObjectHashMap;
+import hashtables.OpenAddressingHashMap;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+// the open addressing maps in hashtables against java.util.HashMap
+// run with -prof gc to compare allocation (and so memory) per entry on the put benchmarks
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashMapBenchmark {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    int size;
+
+    int[] keys;
+    Integer[] boxedKeys;
+    // 1024 lookups, half hits and half misses
+    int[] probes;
+    Integer[] boxedProbes;
+
+    IntIntHashMap intIntMap;
+    LongObjectHashMap<Integer> longObjectMap;
+    OpenAddressingHashMap<Integer, Integer> openAddressingMap;
+    HashMap<Integer, Integer> hashMap;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // spread the ids out like real ids instead of 0..size-1
+        keys = BenchmarkData.shuffledInts(size);
+        for (int i = 0; i < size; i++) keys[i] = keys[i] * 7 + 1;
+        boxedKeys = BenchmarkData.boxed(keys);
+        probes = new int[1024];
+        for (int i = 0; i < probes.length; i++) probes[i] = (i % 2 == 0) ? keys[i % size] : -i;
+        boxedProbes = BenchmarkData.boxed(probes);
+
+        intIntMap = new IntIntHashMap();
+        longObjectMap = new LongObjectHashMap<>();
+        openAddressingMap = new OpenAddressingHashMap<>();
+        hashMap = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            intIntMap.put(keys[i], i);
+            longObjectMap.put(keys[i], boxedKeys[i]);
+            openAddressingMap.put(boxedKeys[i], boxedKeys[i]);
+            hashMap.put(boxedKeys[i], boxedKeys[i]);
+        }
+    }
+
+    @Benchmark
+    public IntIntHashMap putIntIntHashMap() {
+        IntIntHashMap map = new IntIntHashMap();
+        for (int i = 0; i < size; i++) map.put(keys[i], i);
+        return map;
+    }
+
+    @Benchmark
+    public LongObjectHashMap<Integer> putLongObjectHashMap() {
+        LongObjectHashMap<Integer> map = new LongObjectHashMap<>();
+        for (int i = 0; i < size; i++) map.put(keys[i], boxedKeys[i]);
+        return map;
+    }
+
+    @Benchmark
+    public OpenAddressingHashMap<Integer, Integer> putOpenAddressingHashMap() {
+        OpenAddressingHashMap<Integer, Integer> map = new OpenAddressingHashMap<>();
+        for (Integer key : boxedKeys) map.put(key, key);
+        return map;
+    }
+
+    @Benchmark
+    public HashMap<Integer, Integer> putHashMap() {
+        HashMap<Integer, Integer> map = new HashMap<>();
+        for (Integer key : boxedKeys) map.put(key, key);
+        return map;
+    }
+
+    @Benchmark
+    public void getIntIntHashMap(Blackhole bh) {
+        for (int probe : probes) bh.consume(intIntMap.get(probe));
+    }
+
+    @Benchmark
+    public void getLongObjectHashMap(Blackhole bh) {
+        for (int probe : probes) bh.consume(longObjectMap.get(probe));
+    }
+
+    @Benchmark
+    public void getOpenAddressingHashMap(Blackhole bh) {
+        for (Integer probe : boxedProbes) bh.consume(openAddressingMap.get(probe));
+    }
+
+    @Benchmark
+    public void getHashMap(Blackhole bh) {
+        for (Integer probe : boxedProbes) bh.consume(hashMap.get(probe));
+    }
+
+    // remove present keys and put them back so the maps keep their size
+    @Benchmark
+    public void removeIntIntHashMap(Blackhole bh) {
+        for (int i = 0; i < probes.length; i += 2) {
+            bh.consume(intIntMap.remove(probes[i]));
+            intIntMap.put(probes[i], i);
+        }
+    }
+
+    @Benchmark
+    public void removeOpenAddressingHashMap(Blackhole bh) {
+        for (int i = 0; i < boxedProbes.length; i += 2) {
+            bh.consume(openAddressingMap.remove(boxedProbes[i]));
+            openAddressingMap.put(boxedProbes[i], boxedProbes[i]);
+        }
+    }
+
+    @Benchmark
+    public void removeHashMap(Blackhole bh) {
+        for (int i = 0; i < boxedProbes.length; i += 2) {
+            bh.consume(hashMap.remove(boxedProbes[i]));
+            hashMap.put(boxedProbes[i], boxedProbes[i]);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import priorityqueue.IndexedMinPQ;
+import priorityqueue.PriorityQueue;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Dijkstra from vertex 0 over a random graph with 4 weighted out edges per vertex
+// priorityqueue.IndexedMinPQ (decreaseKey) against priorityqueue.PriorityQueue (remove + add)
+// and java.util.PriorityQueue (lazy deletion of stale entries)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IndexedMinPQBenchmark {
+    static final int DEGREE = 4;
+
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    // out edges of v are targets/weights[v * DEGREE .. (v + 1) * DEGREE)
+    int[] targets;
+    double[] weights;
+    double[] dist;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        targets = new int[size * DEGREE];
+        weights = new double[size * DEGREE];
+        for (int i = 0; i < targets.length; i++) {
+            targets[i] = random.nextInt(size);
+            weights[i] = random.nextDouble();
+        }
+        dist = new double[size];
+    }
+
+    @Benchmark
+    public double[] indexedMinPQ() {
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        IndexedMinPQ pq = new IndexedMinPQ(size);
+        dist[0] = 0;
+        pq.insert(0, 0);
+        while (!pq.isEmpty()) {
+            int v = pq.pollId();
+            for (int i = v * DEGREE; i < (v + 1) * DEGREE; i++) {
+                int w = targets[i];
+                double d = dist[v] + weights[i];
+                if (d < dist[w]) {
+                    dist[w] = d;
+                    if (pq.contains(w)) pq.decreaseKey(w, d);
+                    else pq.insert(w, d);
+                }
+            }
+        }
+        return dist;
+    }
+
+    static final class Entry implements Comparable<Entry> {
+        final double dist;
+        final int vertex;
+
+        Entry(double dist, int vertex) {
+            this.dist = dist;
+            this.vertex = vertex;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            return Double.compare(dist, other.dist);
+        }
+    }
+
+    @Benchmark
+    public double[] priorityQueue() {
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        Entry[] entries = new Entry[size];
+        PriorityQueue<Entry> pq = new PriorityQueue<>();
+        dist[0] = 0;
+        entries[0] = new Entry(0, 0);
+        pq.add(entries[0]);
+        while (!pq.isEmpty()) {
+            int v = pq.poll().vertex;
+            entries[v] = null;
+            for (int i = v * DEGREE; i < (v + 1) * DEGREE; i++) {
+                int w = targets[i];
+                double d = dist[v] + weights[i];
+                if (d < dist[w]) {
+                    dist[w] = d;
+                    if (entries[w] != null) pq.remove(entries[w]);
+                    entries[w] = new Entry(d, w);
+                    pq.add(entries[w]);
+                }
+            }
+        }
+        return dist;
+    }
+
+    @Benchmark
+    public double[] javaPriorityQueue() {
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        java.util.PriorityQueue<Entry> pq = new java.util.PriorityQueue<>();
+        dist[0] = 0;
+        pq.add(new Entry(0, 0));
+        while (!pq.isEmpty()) {
+            Entry entry = pq.poll();
+            int v = entry.vertex;
+            if (entry.dist > dist[v]) continue; // stale
+            for (int i = v * DEGREE; i < (v + 1) * DEGREE; i++) {
+                int w = targets[i];
+                double d = dist[v] + weights[i];
+                if (d < dist[w]) {
+                    dist[w] = d;
+                    pq.add(new Entry(d, w));
+                }
+            }
+        }
+        return dist;
+    }
+}
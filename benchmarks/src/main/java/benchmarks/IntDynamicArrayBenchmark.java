@@ -0,0 +1,127 @@
+package benchmarks;
+
+import arrays.DynamicArray;
+import arrays.IntDynamicArray;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.TimeUnit;
+
+// arrays.IntDynamicArray against the boxed DynamicArray<Integer> and ArrayList<Integer>
+// unlike DynamicArrayBenchmark the boxed adds include the boxing, since that is
+// exactly the cost the primitive array removes
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IntDynamicArrayBenchmark {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    int size;
+
+    int[] data;
+    IntDynamicArray intArray;
+    DynamicArray<Integer> dynamicArray;
+    ArrayList<Integer> arrayList;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        data = BenchmarkData.shuffledInts(size);
+        intArray = new IntDynamicArray();
+        dynamicArray = new DynamicArray<>();
+        arrayList = new ArrayList<>();
+        for (int elem : data) {
+            intArray.addInt(elem);
+            dynamicArray.add(elem);
+            arrayList.add(elem);
+        }
+    }
+
+    @Benchmark
+    public IntDynamicArray addIntDynamicArray() {
+        IntDynamicArray arr = new IntDynamicArray();
+        for (int elem : data) arr.addInt(elem);
+        return arr;
+    }
+
+    @Benchmark
+    public IntDynamicArray addAllIntDynamicArray() {
+        IntDynamicArray arr = new IntDynamicArray();
+        arr.addAll(data);
+        return arr;
+    }
+
+    @Benchmark
+    public DynamicArray<Integer> addDynamicArray() {
+        DynamicArray<Integer> arr = new DynamicArray<>();
+        for (int elem : data) arr.add(elem);
+        return arr;
+    }
+
+    @Benchmark
+    public ArrayList<Integer> addArrayList() {
+        ArrayList<Integer> list = new ArrayList<>();
+        for (int elem : data) list.add(elem);
+        return list;
+    }
+
+    @Benchmark
+    public long getIntDynamicArray() {
+        long sum = 0;
+        for (int i = 0; i < size; i++) sum += intArray.getInt(i);
+        return sum;
+    }
+
+    @Benchmark
+    public long getDynamicArray() {
+        long sum = 0;
+        for (int i = 0; i < size; i++) sum += dynamicArray.get(i);
+        return sum;
+    }
+
+    @Benchmark
+    public long getArrayList() {
+        long sum = 0;
+        for (int i = 0; i < size; i++) sum += arrayList.get(i);
+        return sum;
+    }
+
+    @Benchmark
+    public long iterateIntDynamicArray() {
+        long sum = 0;
+        PrimitiveIterator.OfInt it = intArray.iterator();
+        while (it.hasNext()) sum += it.nextInt();
+        return sum;
+    }
+
+    @Benchmark
+    public long iterateDynamicArray() {
+        long sum = 0;
+        for (Integer elem : dynamicArray) sum += elem;
+        return sum;
+    }
+
+    @Benchmark
+    public long iterateArrayList() {
+        long sum = 0;
+        for (Integer elem : arrayList) sum += elem;
+        return sum;
+    }
+
+    @Benchmark
+    public boolean containsIntDynamicArray() {
+        return intArray.contains(-1);
+    }
+
+    @Benchmark
+    public boolean containsDynamicArray() {
+        return dynamicArray.contains(-1);
+    }
+
+    @Benchmark
+    public int[] toArrayIntDynamicArray() {
+        return intArray.toArray();
+    }
+}
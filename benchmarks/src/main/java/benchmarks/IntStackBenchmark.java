@@ -0,0 +1,88 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import stack.IntStack;
+import stack.Stack;
+
+import java.util.ArrayDeque;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// iterative DFS over a random graph (4 out edges per vertex, CSR layout)
+// with stack.IntStack, stack.Stack<Integer> and java.util.ArrayDeque<Integer> as the explicit stack
+// the IntStack is reused across invocations, as it would be across traversals
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IntStackBenchmark {
+    static final int DEGREE = 4;
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    int size;
+
+    // out edges of v are targets[v * DEGREE .. (v + 1) * DEGREE)
+    int[] targets;
+    boolean[] visited;
+    IntStack intStack;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        targets = new int[size * DEGREE];
+        for (int i = 0; i < targets.length; i++) targets[i] = random.nextInt(size);
+        visited = new boolean[size];
+        intStack = new IntStack();
+    }
+
+    @Benchmark
+    public int dfsIntStack() {
+        java.util.Arrays.fill(visited, false);
+        IntStack stack = intStack;
+        stack.clear();
+        int count = 0;
+        stack.push(0);
+        while (!stack.isEmpty()) {
+            int v = stack.pop();
+            if (visited[v]) continue;
+            visited[v] = true;
+            count++;
+            stack.pushAll(targets, v * DEGREE, DEGREE);
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int dfsStack() {
+        java.util.Arrays.fill(visited, false);
+        Stack<Integer> stack = new Stack<>();
+        int count = 0;
+        stack.push(0);
+        while (!stack.isEmpty()) {
+            int v = stack.pop();
+            if (visited[v]) continue;
+            visited[v] = true;
+            count++;
+            for (int i = v * DEGREE; i < (v + 1) * DEGREE; i++) stack.push(targets[i]);
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int dfsArrayDeque() {
+        java.util.Arrays.fill(visited, false);
+        ArrayDeque<Integer> stack = new ArrayDeque<>();
+        int count = 0;
+        stack.push(0);
+        while (!stack.isEmpty()) {
+            int v = stack.pop();
+            if (visited[v]) continue;
+            visited[v] = true;
+            count++;
+            for (int i = v * DEGREE; i < (v + 1) * DEGREE; i++) stack.push(targets[i]);
+        }
+        return count;
+    }
+}
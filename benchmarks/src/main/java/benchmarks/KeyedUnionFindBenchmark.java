@@ -0,0 +1,58 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import unionfind.KeyedUnionFind;
+import unionfind.UnionFind;
+
+import java.util.HashMap;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// union of size random edges between string keys
+// unionfind.KeyedUnionFind against a HashMap<String, Integer> key translation in front of
+// unionfind.UnionFind, which also needs the element count up front
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeyedUnionFindBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    String[] from;
+    String[] to;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        String[] keys = new String[size];
+        for (int i = 0; i < size; i++) keys[i] = "entity-" + i;
+        from = new String[size];
+        to = new String[size];
+        for (int i = 0; i < size; i++) {
+            from[i] = keys[random.nextInt(size)];
+            to[i] = keys[random.nextInt(size)];
+        }
+    }
+
+    @Benchmark
+    public int keyedUnionFind() {
+        KeyedUnionFind<String> unionFind = new KeyedUnionFind<>();
+        for (int i = 0; i < size; i++) unionFind.union(from[i], to[i]);
+        return unionFind.components();
+    }
+
+    @Benchmark
+    public int hashMapAndUnionFind() {
+        HashMap<String, Integer> ids = new HashMap<>();
+        UnionFind unionFind = new UnionFind(size);
+        for (int i = 0; i < size; i++) {
+            int id1 = ids.computeIfAbsent(from[i], k -> ids.size());
+            int id2 = ids.computeIfAbsent(to[i], k -> ids.size());
+            unionFind.union(id1, id2);
+        }
+        return unionFind.components();
+    }
+}
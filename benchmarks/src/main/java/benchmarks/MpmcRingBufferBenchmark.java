@@ -0,0 +1,101 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import queue.MpmcRingBuffer;
+import queue.QueueArr;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// producers and consumers hammering one shared queue
+// queue.MpmcRingBuffer against a synchronized queue.QueueArr and java.util.concurrent.ArrayBlockingQueue
+// change the thread split with -tg, e.g. -tg 4,4 for four producers and four consumers
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MpmcRingBufferBenchmark {
+    static final int CAPACITY = 1 << 14;
+    static final int BATCH = 64;
+    static final Integer ELEM = 42;
+
+    MpmcRingBuffer<Integer> ringBuffer;
+    QueueArr<Integer> queueArr;
+    ArrayBlockingQueue<Integer> arrayBlockingQueue;
+    Integer[] batch;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        ringBuffer = new MpmcRingBuffer<>(CAPACITY);
+        queueArr = new QueueArr<>(CAPACITY);
+        arrayBlockingQueue = new ArrayBlockingQueue<>(CAPACITY);
+        batch = new Integer[BATCH];
+        java.util.Arrays.fill(batch, ELEM);
+    }
+
+    @Benchmark
+    @Group("ringBuffer")
+    @GroupThreads(2)
+    public boolean ringBufferOffer() {
+        return ringBuffer.offer(ELEM);
+    }
+
+    @Benchmark
+    @Group("ringBuffer")
+    @GroupThreads(2)
+    public Integer ringBufferPoll() {
+        return ringBuffer.poll();
+    }
+
+    // one op here moves up to BATCH elements
+    @Benchmark
+    @Group("ringBufferBatch")
+    @GroupThreads(2)
+    public int ringBufferOfferBatch() {
+        return ringBuffer.offerBatch(batch);
+    }
+
+    @Benchmark
+    @Group("ringBufferBatch")
+    @GroupThreads(2)
+    public int ringBufferDrainTo(Blackhole bh) {
+        return ringBuffer.drainTo(bh::consume, BATCH);
+    }
+
+    @Benchmark
+    @Group("synchronizedQueueArr")
+    @GroupThreads(2)
+    public boolean queueArrOffer() {
+        synchronized (queueArr) {
+            if (queueArr.size() == CAPACITY) return false;
+            queueArr.enqueue(ELEM);
+            return true;
+        }
+    }
+
+    @Benchmark
+    @Group("synchronizedQueueArr")
+    @GroupThreads(2)
+    public Integer queueArrPoll() {
+        synchronized (queueArr) {
+            return queueArr.isEmpty() ? null : queueArr.dequeue();
+        }
+    }
+
+    @Benchmark
+    @Group("arrayBlockingQueue")
+    @GroupThreads(2)
+    public boolean arrayBlockingQueueOffer() {
+        return arrayBlockingQueue.offer(ELEM);
+    }
+
+    @Benchmark
+    @Group("arrayBlockingQueue")
+    @GroupThreads(2)
+    public Integer arrayBlockingQueuePoll() {
+        return arrayBlockingQueue.poll();
+    }
+}
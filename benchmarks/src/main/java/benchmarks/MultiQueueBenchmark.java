@@ -0,0 +1,72 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import priorityqueue.MultiQueue;
+import priorityqueue.PriorityQueue;
+
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// a shared scheduler queue: every thread submits a task with a random deadline
+// and takes the most urgent one back out
+// priorityqueue.MultiQueue (c = relaxation heaps per thread) against
+// java.util.concurrent.PriorityBlockingQueue and a synchronized priorityqueue.PriorityQueue
+// run at several thread counts to see how each scales, e.g. -t 1, -t 4 and -t 16
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MultiQueueBenchmark {
+    static final int PREFILL = 1 << 16;
+    // upper bound for the thread count MultiQueue is sized for
+    static final int MAX_THREADS = 64;
+
+    @Param({"1", "2", "4"})
+    int relaxation;
+
+    MultiQueue<Long> multiQueue;
+    PriorityBlockingQueue<Long> priorityBlockingQueue;
+    PriorityQueue<Long> priorityQueue;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        int threads = Math.min(MAX_THREADS, Runtime.getRuntime().availableProcessors());
+        multiQueue = new MultiQueue<>(threads, relaxation);
+        priorityBlockingQueue = new PriorityBlockingQueue<>(PREFILL);
+        // no remove(T) on this path, so the position index only costs on add/poll
+        priorityQueue = new PriorityQueue<>(PREFILL, 4);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < PREFILL; i++) {
+            Long deadline = random.nextLong();
+            multiQueue.add(deadline);
+            priorityBlockingQueue.add(deadline);
+            priorityQueue.add(deadline);
+        }
+    }
+
+    @Benchmark
+    public Long multiQueue() {
+        multiQueue.add(ThreadLocalRandom.current().nextLong());
+        return multiQueue.poll();
+    }
+
+    @Benchmark
+    public Long priorityBlockingQueue() {
+        priorityBlockingQueue.add(ThreadLocalRandom.current().nextLong());
+        return priorityBlockingQueue.poll();
+    }
+
+    @Benchmark
+    public Long synchronizedPriorityQueue() {
+        Long deadline = ThreadLocalRandom.current().nextLong();
+        synchronized (priorityQueue) {
+            priorityQueue.add(deadline);
+        }
+        synchronized (priorityQueue) {
+            return priorityQueue.poll();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package benchmarks;
+
+import arrays.DynamicArray;
+import arrays.MappedDynamicArray;
+import arrays.OffHeapDynamicArray;
+import arrays.RecordCodec;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// arrays.OffHeapDynamicArray and arrays.MappedDynamicArray against the on heap DynamicArray<Long>
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OffHeapDynamicArrayBenchmark {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    int size;
+
+    Long[] data;
+    OffHeapDynamicArray<Long> offHeapArray;
+    DynamicArray<Long> dynamicArray;
+    Path file;
+    MappedDynamicArray<Long> mappedArray;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        int[] ints = BenchmarkData.shuffledInts(size);
+        data = new Long[size];
+        for (int i = 0; i < size; i++) data[i] = (long) ints[i];
+
+        offHeapArray = new OffHeapDynamicArray<>(RecordCodec.LONG);
+        dynamicArray = new DynamicArray<>();
+        for (Long elem : data) {
+            offHeapArray.add(elem);
+            dynamicArray.add(elem);
+        }
+
+        file = Files.createTempFile("mapped-dynamic-array", ".bin");
+        Files.delete(file);
+        mappedArray = MappedDynamicArray.open(file, RecordCodec.LONG);
+        for (Long elem : data) mappedArray.add(elem);
+        mappedArray.flush();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        offHeapArray.close();
+        mappedArray.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public OffHeapDynamicArray<Long> addOffHeap() {
+        OffHeapDynamicArray<Long> arr = new OffHeapDynamicArray<>(RecordCodec.LONG);
+        for (Long elem : data) arr.add(elem);
+        arr.close();
+        return arr;
+    }
+
+    @Benchmark
+    public DynamicArray<Long> addDynamicArray() {
+        DynamicArray<Long> arr = new DynamicArray<>();
+        for (Long elem : data) arr.add(elem);
+        return arr;
+    }
+
+    @Benchmark
+    public void getOffHeap(Blackhole bh) {
+        for (long i = 0; i < size; i++) bh.consume(offHeapArray.get(i));
+    }
+
+    @Benchmark
+    public void getMapped(Blackhole bh) {
+        for (long i = 0; i < size; i++) bh.consume(mappedArray.get(i));
+    }
+
+    @Benchmark
+    public void getDynamicArray(Blackhole bh) {
+        for (int i = 0; i < size; i++) bh.consume(dynamicArray.get(i));
+    }
+
+    @Benchmark
+    public void iterateOffHeap(Blackhole bh) {
+        for (Long elem : offHeapArray) bh.consume(elem);
+    }
+
+    @Benchmark
+    public void iterateDynamicArray(Blackhole bh) {
+        for (Long elem : dynamicArray) bh.consume(elem);
+    }
+
+    // reopening only maps the existing file, compare with re-adding every element
+    @Benchmark
+    public long reopenMapped() throws IOException {
+        try (MappedDynamicArray<Long> reopened = MappedDynamicArray.open(file, RecordCodec.LONG)) {
+            return reopened.size();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import unionfind.OfflineDynamicConnectivity;
+import unionfind.UnionFind;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// a random stream of edge inserts (40%), deletes (20%) and connectivity queries (40%)
+// unionfind.OfflineDynamicConnectivity against rebuilding a UnionFind from the live edges for every query
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OfflineDynamicConnectivityBenchmark {
+    static final int VERTICES = 100000;
+    static final int ADD = 0, REMOVE = 1, QUERY = 2;
+
+    @Param({"1000", "10000", "100000"})
+    int size;
+
+    int[] type;
+    int[] u;
+    int[] v;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        type = new int[size];
+        u = new int[size];
+        v = new int[size];
+        List<int[]> live = new ArrayList<>();
+        for (int t = 0; t < size; t++) {
+            int roll = random.nextInt(10);
+            if (roll < 4 || (roll < 6 && live.isEmpty())) {
+                type[t] = ADD;
+                u[t] = random.nextInt(VERTICES);
+                v[t] = random.nextInt(VERTICES);
+                live.add(new int[]{u[t], v[t]});
+            } else if (roll < 6) {
+                int[] edge = live.remove(random.nextInt(live.size()));
+                type[t] = REMOVE;
+                u[t] = edge[0];
+                v[t] = edge[1];
+            } else {
+                type[t] = QUERY;
+                u[t] = random.nextInt(VERTICES);
+                v[t] = random.nextInt(VERTICES);
+            }
+        }
+    }
+
+    @Benchmark
+    public int[] offline() {
+        OfflineDynamicConnectivity connectivity = new OfflineDynamicConnectivity(VERTICES);
+        for (int t = 0; t < size; t++) {
+            if (type[t] == ADD) connectivity.addEdge(u[t], v[t]);
+            else if (type[t] == REMOVE) connectivity.removeEdge(u[t], v[t]);
+            else connectivity.queryConnected(u[t], v[t]);
+        }
+        return connectivity.run();
+    }
+
+    @Benchmark
+    public int rebuild() {
+        List<int[]> live = new ArrayList<>();
+        int connectedCount = 0;
+        for (int t = 0; t < size; t++) {
+            if (type[t] == ADD) {
+                live.add(new int[]{u[t], v[t]});
+            } else if (type[t] == REMOVE) {
+                for (int i = live.size() - 1; i >= 0; i--) {
+                    if (live.get(i)[0] == u[t] && live.get(i)[1] == v[t]) {
+                        live.remove(i);
+                        break;
+                    }
+                }
+            } else {
+                UnionFind unionFind = new UnionFind(VERTICES);
+                for (int[] edge : live) unionFind.union(edge[0], edge[1]);
+                if (unionFind.connected(u[t], v[t])) connectedCount++;
+            }
+        }
+        return connectedCount;
+    }
+}
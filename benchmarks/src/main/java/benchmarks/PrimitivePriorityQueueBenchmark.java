@@ -0,0 +1,79 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import priorityqueue.DoublePriorityQueue;
+import priorityqueue.LongPriorityQueue;
+import priorityqueue.PriorityQueue;
+
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// push (score, docId) pairs into a max heap and drain them best first
+// priorityqueue.DoublePriorityQueue / LongPriorityQueue (primitive keys, parallel int payload)
+// against priorityqueue.PriorityQueue and java.util.PriorityQueue over a pair object
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitivePriorityQueueBenchmark {
+    static final Comparator<ScoredDoc> BY_SCORE_DESC = (a, b) -> Double.compare(b.score, a.score);
+
+    static final class ScoredDoc {
+        final double score;
+        final int docId;
+
+        ScoredDoc(double score, int docId) {
+            this.score = score;
+            this.docId = docId;
+        }
+    }
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    int size;
+
+    double[] scores;
+    long[] longScores;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        scores = new double[size];
+        longScores = new long[size];
+        for (int i = 0; i < size; i++) {
+            scores[i] = random.nextDouble();
+            longScores[i] = random.nextLong();
+        }
+    }
+
+    @Benchmark
+    public void doublePriorityQueue(Blackhole bh) {
+        DoublePriorityQueue pq = new DoublePriorityQueue(size, true);
+        for (int doc = 0; doc < size; doc++) pq.add(scores[doc], doc);
+        while (!pq.isEmpty()) bh.consume(pq.pollValue());
+    }
+
+    @Benchmark
+    public void longPriorityQueue(Blackhole bh) {
+        LongPriorityQueue pq = new LongPriorityQueue(size, true);
+        for (int doc = 0; doc < size; doc++) pq.add(longScores[doc], doc);
+        while (!pq.isEmpty()) bh.consume(pq.pollValue());
+    }
+
+    @Benchmark
+    public void comparatorPriorityQueue(Blackhole bh) {
+        PriorityQueue<ScoredDoc> pq = new PriorityQueue<>(size, BY_SCORE_DESC);
+        for (int doc = 0; doc < size; doc++) pq.add(new ScoredDoc(scores[doc], doc));
+        while (!pq.isEmpty()) bh.consume(pq.poll().docId);
+    }
+
+    @Benchmark
+    public void javaPriorityQueue(Blackhole bh) {
+        java.util.PriorityQueue<ScoredDoc> pq = new java.util.PriorityQueue<>(size, BY_SCORE_DESC);
+        for (int doc = 0; doc < size; doc++) pq.add(new ScoredDoc(scores[doc], doc));
+        while (!pq.isEmpty()) bh.consume(pq.poll().docId);
+    }
+}
@@ -0,0 +1,92 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import priorityqueue.PriorityQueue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// priorityqueue.PriorityQueue against java.util.PriorityQueue
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PriorityQueueBenchmark {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    int size;
+
+    Integer[] data;
+    List<Integer> dataList;
+    Integer[] probes;
+    PriorityQueue<Integer> priorityQueue;
+    java.util.PriorityQueue<Integer> javaPriorityQueue;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        data = BenchmarkData.boxed(BenchmarkData.shuffledInts(size));
+        dataList = Arrays.asList(data);
+        // half hits, half misses
+        probes = new Integer[1024];
+        for (int i = 0; i < probes.length; i++) probes[i] = (i % 2 == 0) ? data[i % size] : -i;
+        priorityQueue = new PriorityQueue<>();
+        javaPriorityQueue = new java.util.PriorityQueue<>();
+        for (Integer elem : data) {
+            priorityQueue.add(elem);
+            javaPriorityQueue.add(elem);
+        }
+    }
+
+    @Benchmark
+    public PriorityQueue<Integer> addPriorityQueue() {
+        PriorityQueue<Integer> pq = new PriorityQueue<>();
+        for (Integer elem : data) pq.add(elem);
+        return pq;
+    }
+
+    @Benchmark
+    public java.util.PriorityQueue<Integer> addJavaPriorityQueue() {
+        java.util.PriorityQueue<Integer> pq = new java.util.PriorityQueue<>();
+        for (Integer elem : data) pq.add(elem);
+        return pq;
+    }
+
+    // bulk load through the Collection constructor (heapify)
+    @Benchmark
+    public PriorityQueue<Integer> addAllPriorityQueue() {
+        return new PriorityQueue<>(dataList);
+    }
+
+    @Benchmark
+    public java.util.PriorityQueue<Integer> addAllJavaPriorityQueue() {
+        return new java.util.PriorityQueue<>(dataList);
+    }
+
+    // fill and then drain in priority order
+    @Benchmark
+    public void pollPriorityQueue(Blackhole bh) {
+        PriorityQueue<Integer> pq = new PriorityQueue<>();
+        for (Integer elem : data) pq.add(elem);
+        while (!pq.isEmpty()) bh.consume(pq.poll());
+    }
+
+    @Benchmark
+    public void pollJavaPriorityQueue(Blackhole bh) {
+        java.util.PriorityQueue<Integer> pq = new java.util.PriorityQueue<>();
+        for (Integer elem : data) pq.add(elem);
+        while (!pq.isEmpty()) bh.consume(pq.poll());
+    }
+
+    @Benchmark
+    public void containsPriorityQueue(Blackhole bh) {
+        for (Integer probe : probes) bh.consume(priorityQueue.contains(probe));
+    }
+
+    @Benchmark
+    public void containsJavaPriorityQueue(Blackhole bh) {
+        for (Integer probe : probes) bh.consume(javaPriorityQueue.contains(probe));
+    }
+}
@@ -0,0 +1,68 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import queue.Queue;
+import queue.QueueArr;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+
+// queue.Queue and queue.QueueArr against java.util.ArrayDeque
+// each benchmark enqueues size elements and then dequeues all of them
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueueBenchmark {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    int size;
+
+    Integer[] data;
+    Queue<Integer> queue;
+    ArrayDeque<Integer> arrayDeque;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        data = BenchmarkData.boxed(BenchmarkData.shuffledInts(size));
+        queue = new Queue<>();
+        arrayDeque = new ArrayDeque<>();
+        for (Integer elem : data) {
+            queue.enqueue(elem);
+            arrayDeque.offer(elem);
+        }
+    }
+
+    @Benchmark
+    public void offerPollQueue(Blackhole bh) {
+        Queue<Integer> q = new Queue<>();
+        for (Integer elem : data) q.enqueue(elem);
+        while (!q.isEmpty()) bh.consume(q.dequeue());
+    }
+
+    @Benchmark
+    public void offerPollQueueArr(Blackhole bh) {
+        QueueArr<Integer> q = new QueueArr<>(size);
+        for (Integer elem : data) q.enqueue(elem);
+        while (!q.isEmpty()) bh.consume(q.dequeue());
+    }
+
+    @Benchmark
+    public void offerPollArrayDeque(Blackhole bh) {
+        ArrayDeque<Integer> q = new ArrayDeque<>();
+        for (Integer elem : data) q.offer(elem);
+        while (!q.isEmpty()) bh.consume(q.poll());
+    }
+
+    @Benchmark
+    public void iterateQueue(Blackhole bh) {
+        for (Integer elem : queue) bh.consume(elem);
+    }
+
+    @Benchmark
+    public void iterateArrayDeque(Blackhole bh) {
+        for (Integer elem : arrayDeque) bh.consume(elem);
+    }
+}
@@ -0,0 +1,115 @@
+package benchmarks;
+
+import binarysearchtree.RedBlackTree;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Iterator;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+// binarysearchtree.RedBlackTree against java.util.TreeSet for sorted, reverse
+// sorted and random insert orders
+// the unbalanced BinarySearchTree is left out - sorted input makes it a linked
+// list with O(n) operations, see BinarySearchTreeBenchmark for random order
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RedBlackTreeBenchmark {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    int size;
+
+    @Param({"SORTED", "REVERSE_SORTED", "RANDOM"})
+    String order;
+
+    Integer[] data;
+    Integer[] probes;
+    RedBlackTree<Integer> tree;
+    TreeSet<Integer> treeSet;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        int[] keys;
+        switch (order) {
+            case "SORTED":
+                keys = BenchmarkData.sortedInts(size);
+                break;
+            case "REVERSE_SORTED":
+                keys = BenchmarkData.sortedInts(size);
+                for (int i = 0, j = size - 1; i < j; i++, j--) {
+                    int tmp = keys[i];
+                    keys[i] = keys[j];
+                    keys[j] = tmp;
+                }
+                break;
+            default:
+                keys = BenchmarkData.shuffledInts(size);
+        }
+        data = BenchmarkData.boxed(keys);
+        // half hits, half misses
+        probes = new Integer[1024];
+        for (int i = 0; i < probes.length; i++) probes[i] = (i % 2 == 0) ? data[(i * 7919) % size] : -i - 1;
+        tree = new RedBlackTree<>();
+        treeSet = new TreeSet<>();
+        for (Integer elem : data) {
+            tree.add(elem);
+            treeSet.add(elem);
+        }
+    }
+
+    @Benchmark
+    public RedBlackTree<Integer> addRedBlackTree() {
+        RedBlackTree<Integer> rbt = new RedBlackTree<>();
+        for (Integer elem : data) rbt.add(elem);
+        return rbt;
+    }
+
+    @Benchmark
+    public TreeSet<Integer> addTreeSet() {
+        TreeSet<Integer> set = new TreeSet<>();
+        for (Integer elem : data) set.add(elem);
+        return set;
+    }
+
+    @Benchmark
+    public void containsRedBlackTree(Blackhole bh) {
+        for (Integer probe : probes) bh.consume(tree.contains(probe));
+    }
+
+    @Benchmark
+    public void containsTreeSet(Blackhole bh) {
+        for (Integer probe : probes) bh.consume(treeSet.contains(probe));
+    }
+
+    // remove a present key and put it back so the structure keeps its size
+    @Benchmark
+    public void removeRedBlackTree(Blackhole bh) {
+        for (int i = 0; i < probes.length; i += 2) {
+            bh.consume(tree.remove(probes[i]));
+            tree.add(probes[i]);
+        }
+    }
+
+    @Benchmark
+    public void removeTreeSet(Blackhole bh) {
+        for (int i = 0; i < probes.length; i += 2) {
+            bh.consume(treeSet.remove(probes[i]));
+            treeSet.add(probes[i]);
+        }
+    }
+
+    // the iteration and range API comes from BinarySearchTree
+    @Benchmark
+    public void subSetRedBlackTree(Blackhole bh) {
+        Iterator<Integer> it = tree.subSet(size / 4, size / 4 + 1000);
+        while (it.hasNext()) bh.consume(it.next());
+    }
+
+    @Benchmark
+    public void subSetTreeSet(Blackhole bh) {
+        for (Integer elem : treeSet.subSet(size / 4, size / 4 + 1000)) bh.consume(elem);
+    }
+}
@@ -0,0 +1,84 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import queue.MpmcRingBuffer;
+import queue.SpscQueue;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// one producer thread handing elements to one consumer thread
+// queue.SpscQueue against queue.MpmcRingBuffer and java.util.concurrent.ArrayBlockingQueue
+// pin the two threads to separate cores (e.g. with taskset) for stable numbers
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpscQueueBenchmark {
+    static final int CAPACITY = 1 << 14;
+    static final int BATCH = 256;
+    static final Integer ELEM = 42;
+
+    SpscQueue<Integer> spscQueue;
+    MpmcRingBuffer<Integer> ringBuffer;
+    ArrayBlockingQueue<Integer> arrayBlockingQueue;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        spscQueue = new SpscQueue<>(CAPACITY);
+        ringBuffer = new MpmcRingBuffer<>(CAPACITY);
+        arrayBlockingQueue = new ArrayBlockingQueue<>(CAPACITY);
+    }
+
+    @Benchmark
+    @Group("spsc")
+    public boolean spscOffer() {
+        return spscQueue.offer(ELEM);
+    }
+
+    @Benchmark
+    @Group("spsc")
+    public Integer spscPoll() {
+        return spscQueue.poll();
+    }
+
+    // the consumer touches the shared head once per batch, one op moves up to BATCH elements
+    @Benchmark
+    @Group("spscDrain")
+    public boolean spscDrainOffer() {
+        return spscQueue.offer(ELEM);
+    }
+
+    @Benchmark
+    @Group("spscDrain")
+    public int spscDrain(Blackhole bh) {
+        return spscQueue.drain(bh::consume, BATCH);
+    }
+
+    @Benchmark
+    @Group("mpmc")
+    public boolean mpmcOffer() {
+        return ringBuffer.offer(ELEM);
+    }
+
+    @Benchmark
+    @Group("mpmc")
+    public Integer mpmcPoll() {
+        return ringBuffer.poll();
+    }
+
+    @Benchmark
+    @Group("arrayBlockingQueue")
+    public boolean arrayBlockingQueueOffer() {
+        return arrayBlockingQueue.offer(ELEM);
+    }
+
+    @Benchmark
+    @Group("arrayBlockingQueue")
+    public Integer arrayBlockingQueuePoll() {
+        return arrayBlockingQueue.poll();
+    }
+}
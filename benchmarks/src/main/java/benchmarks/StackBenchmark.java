@@ -0,0 +1,61 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import stack.Stack;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+
+// stack.Stack against java.util.ArrayDeque used as a stack
+// each benchmark pushes size elements and then pops all of them
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StackBenchmark {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    int size;
+
+    Integer[] data;
+    Stack<Integer> stack;
+    ArrayDeque<Integer> arrayDeque;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        data = BenchmarkData.boxed(BenchmarkData.shuffledInts(size));
+        stack = new Stack<>(data[0]);
+        arrayDeque = new ArrayDeque<>();
+        arrayDeque.push(data[0]);
+        for (int i = 1; i < size; i++) {
+            stack.push(data[i]);
+            arrayDeque.push(data[i]);
+        }
+    }
+
+    @Benchmark
+    public void pushPopStack(Blackhole bh) {
+        Stack<Integer> s = new Stack<>(data[0]);
+        for (int i = 1; i < size; i++) s.push(data[i]);
+        while (!s.isEmpty()) bh.consume(s.pop());
+    }
+
+    @Benchmark
+    public void pushPopArrayDeque(Blackhole bh) {
+        ArrayDeque<Integer> s = new ArrayDeque<>();
+        for (Integer elem : data) s.push(elem);
+        while (!s.isEmpty()) bh.consume(s.pop());
+    }
+
+    @Benchmark
+    public void iterateStack(Blackhole bh) {
+        for (Integer elem : stack) bh.consume(elem);
+    }
+
+    @Benchmark
+    public void iterateArrayDeque(Blackhole bh) {
+        for (Integer elem : arrayDeque) bh.consume(elem);
+    }
+}
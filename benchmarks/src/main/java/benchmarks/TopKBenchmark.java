@@ -0,0 +1,60 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import priorityqueue.TopK;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// top 100 out of size candidates
+// priorityqueue.TopK (offer loop, sequential and parallel stream collector)
+// against a bounded java.util.PriorityQueue that adds then polls the smallest
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TopKBenchmark {
+    static final int K = 100;
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    int size;
+
+    Integer[] data;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        data = BenchmarkData.boxed(BenchmarkData.shuffledInts(size));
+    }
+
+    @Benchmark
+    public List<Integer> topK() {
+        TopK<Integer> topK = TopK.naturalOrder(K);
+        for (Integer elem : data) topK.offer(elem);
+        return topK.toSortedList();
+    }
+
+    @Benchmark
+    public List<Integer> topKCollector() {
+        return Arrays.stream(data).collect(TopK.collector(K));
+    }
+
+    @Benchmark
+    public List<Integer> topKParallelCollector() {
+        return Arrays.stream(data).parallel().collect(TopK.collector(K));
+    }
+
+    @Benchmark
+    public Integer[] javaPriorityQueue() {
+        java.util.PriorityQueue<Integer> pq = new java.util.PriorityQueue<>(K + 1);
+        for (Integer elem : data) {
+            pq.add(elem);
+            if (pq.size() > K) pq.poll();
+        }
+        Integer[] result = pq.toArray(new Integer[0]);
+        Arrays.sort(result, java.util.Collections.reverseOrder());
+        return result;
+    }
+}
@@ -0,0 +1,44 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import unionfind.UnionFind;
+
+import java.util.concurrent.TimeUnit;
+
+// unionfind.UnionFind has no java.util counterpart, so only absolute numbers
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UnionFindBenchmark {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    int size;
+
+    // random edge i: (from[i], to[i])
+    int[] from;
+    int[] to;
+    UnionFind unionFind;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        from = BenchmarkData.shuffledInts(size);
+        to = BenchmarkData.sortedInts(size);
+        unionFind = new UnionFind(size);
+        for (int i = 0; i < size; i += 2) unionFind.union(from[i], to[i]);
+    }
+
+    @Benchmark
+    public UnionFind union() {
+        UnionFind uf = new UnionFind(size);
+        for (int i = 0; i < size; i++) uf.union(from[i], to[i]);
+        return uf;
+    }
+
+    @Benchmark
+    public void find(Blackhole bh) {
+        for (int i = 0; i < size; i++) bh.consume(unionFind.find(from[i]));
+    }
+}
@@ -0,0 +1,20 @@
+package arrays;
+
+// growth policy shared by the array backed structures: double the capacity
+// like DynamicArray, but clamp it instead of overflowing past 2^30
+public final class ArrayCapacity {
+    // some VMs reserve header words in an array, as in ArrayList
+    public static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private ArrayCapacity() {
+    }
+
+    // current doubled until it holds min elements, at most MAX_CAPACITY
+    public static int grownCapacity(int current, int min) {
+        // min is negative when the caller's size arithmetic overflowed
+        if (min < 0 || min > MAX_CAPACITY) throw new OutOfMemoryError("Required capacity is too large");
+        int capacity = Math.max(current, 1);
+        while (capacity < min) capacity = capacity > MAX_CAPACITY / 2 ? MAX_CAPACITY : capacity * 2;
+        return capacity;
+    }
+}
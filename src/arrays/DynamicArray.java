@@ -63,15 +63,10 @@ public class DynamicArray<T> implements Iterable<T> {
         if ( index >= len || index < 0 ) {
             throw new IndexOutOfBoundsException();
         } else {
-            T[] newArr = (T[]) new Object[len - 1];
-            for (int i = 0, j = 0; i < len; i++, j++) {
-                if (i == index) { // tracks the original
-                    j--; //tracks the new array
-                } else {
-                    newArr[j] = staticArray[j];
-                }
-            }
-            capacity = --len;
+            // shift the tail down by one in place - the capacity is kept, so the
+            // next add does not have to resize
+            System.arraycopy(staticArray, index + 1, staticArray, index, len - index - 1);
+            staticArray[--len] = null; // let go of the reference for gc
         }
     }
 
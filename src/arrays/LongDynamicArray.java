@@ -0,0 +1,137 @@
+package arrays;
+
+// primitive long specialization of DynamicArray
+// values are stored inline in a long[] so there is no boxing on add/get
+// and iteration walks contiguous memory instead of chasing pointers
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.LongConsumer;
+
+public class LongDynamicArray {
+    long[] staticArray;
+    int len = 0; // displayed to user
+    int capacity; // actual capacity of array
+
+    // default starting size if no arg for constructor
+    public LongDynamicArray() {
+        this(2);
+    }
+
+    public LongDynamicArray(int capacity) {
+        if (capacity < 0) throw new IllegalArgumentException("Invalid Capacity - cannot be less than 0");
+        this.capacity = capacity;
+        staticArray = new long[capacity];
+    }
+
+    // operations
+    public long getLong(int index) {
+        if ( index < 0 || index >= len ) throw new IndexOutOfBoundsException();
+        return staticArray[index];
+    }
+
+    public void setLong(int index, long val) {
+        if ( index < 0 || index >= len ) throw new IndexOutOfBoundsException();
+        staticArray[index] = val;
+    }
+
+    public int size() {
+        return len;
+    }
+
+    public boolean isEmpty() {
+        return len == 0;
+    }
+
+    // no references to release, so the old values can simply be overwritten later
+    public void clear() {
+        this.len = 0;
+    }
+
+    public void addLong(long element) {
+        if (len + 1 > capacity) grow(len + 1);
+        staticArray[len++] = element;
+    }
+
+    // single resize and bulk copy for the whole batch
+    public void addAll(long[] elements) {
+        if (len + elements.length > capacity) grow(len + elements.length);
+        System.arraycopy(elements, 0, staticArray, len, elements.length);
+        len += elements.length;
+    }
+
+    // resize exponentially by factor of 2 to maintain O(1) append time complexity
+    private void grow(int minCapacity) {
+        int newCapacity = ArrayCapacity.grownCapacity(capacity, minCapacity);
+        staticArray = Arrays.copyOf(staticArray, newCapacity);
+        capacity = newCapacity;
+    }
+
+    public long removeAt(int index) {
+        if ( index >= len || index < 0 ) throw new IndexOutOfBoundsException();
+        long removed = staticArray[index];
+        // shift the tail down by one in place
+        System.arraycopy(staticArray, index + 1, staticArray, index, len - index - 1);
+        len--;
+        return removed;
+    }
+
+    // removes the first occurrence of value
+    public boolean removeLong(long value) {
+        int index = indexOf(value);
+        if (index == -1) return false;
+        removeAt(index);
+        return true;
+    }
+
+    public int indexOf(long value) {
+        for (int i = 0; i < len; i++) {
+            if (staticArray[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public boolean contains(long value) {
+        return indexOf(value) != -1;
+    }
+
+    public long[] toArray() {
+        return Arrays.copyOf(staticArray, len);
+    }
+
+    public void forEach(LongConsumer action) {
+        for (int i = 0; i < len; i++) {
+            action.accept(staticArray[i]);
+        }
+    }
+
+    public PrimitiveIterator.OfLong iterator() {
+        return new PrimitiveIterator.OfLong() {
+            int index = 0;
+            @Override
+            public boolean hasNext() {
+                return index < len;
+            }
+
+            @Override
+            public long nextLong() {
+                if (index >= len) throw new NoSuchElementException();
+                return staticArray[index++];
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        if (len == 0) return "[]";
+        StringBuilder sb = new StringBuilder(len).append("[");
+        for (int i = 0; i < len; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(staticArray[i]);
+        }
+        return sb.append("]").toString();
+    }
+}
@@ -0,0 +1,103 @@
+package arrays;
+
+// OffHeapDynamicArray whose chunks are memory mapped regions of a file
+// the file starts with a small header holding the record size and length,
+// so reopening an existing array only maps the file again - nothing is re-added
+
+// file layout: [magic:int][recordSize:int][length:long][record 0][record 1]...
+// always little endian, so a file written on one machine reads back on any other
+// growing maps the next chunk past the end of the file, which extends it
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class MappedDynamicArray<T> extends OffHeapDynamicArray<T> {
+    static final int MAGIC = 0x44594E41; // "DYNA"
+    static final int HEADER_BYTES = 16;
+    static final int DEFAULT_MAPPED_CHUNK_BYTES = 1 << 26;
+    static final ByteOrder FILE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+
+    private MappedDynamicArray(RecordCodec<T> codec, int chunkBytes, FileChannel channel) throws IOException {
+        super(codec, chunkBytes);
+        this.channel = channel;
+        boolean newFile = channel.size() == 0;
+        header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+        header.order(FILE_ORDER);
+
+        if (newFile) {
+            header.putInt(0, MAGIC);
+            header.putInt(4, recordSize);
+            header.putLong(8, 0);
+        } else {
+            if (header.getInt(0) != MAGIC) throw new IOException("Not a MappedDynamicArray file");
+            if (header.getInt(4) != recordSize) {
+                throw new IllegalArgumentException("Record size mismatch - file has " + header.getInt(4)
+                        + " bytes per record but codec has " + recordSize);
+            }
+            len = header.getLong(8);
+            // map just enough chunks to cover the existing records
+            long chunksNeeded = (len + chunkMask) >>> chunkShift;
+            while (numChunks < chunksNeeded) addChunk();
+        }
+    }
+
+    // opens the array stored at path, creating an empty one if the file does not exist
+    public static <T> MappedDynamicArray<T> open(Path path, RecordCodec<T> codec) throws IOException {
+        return open(path, codec, DEFAULT_MAPPED_CHUNK_BYTES);
+    }
+
+    public static <T> MappedDynamicArray<T> open(Path path, RecordCodec<T> codec, int chunkBytes) throws IOException {
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            return new MappedDynamicArray<>(codec, chunkBytes, channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    ByteBuffer allocateChunk(int chunkIndex) {
+        long position = HEADER_BYTES + (long) chunkIndex * chunkBytes();
+        try {
+            return channel.map(FileChannel.MapMode.READ_WRITE, position, chunkBytes()).order(FILE_ORDER);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    void lengthChanged() {
+        header.putLong(8, len);
+    }
+
+    // writes dirty pages back to the file
+    public void flush() {
+        for (int i = 0; i < numChunks; i++) {
+            ((MappedByteBuffer) chunks[i]).force();
+        }
+        header.force();
+    }
+
+    // flushes and closes the file, the records stay on disk for the next open
+    @Override
+    public void close() {
+        flush();
+        super.close();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
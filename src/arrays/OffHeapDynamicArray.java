@@ -0,0 +1,139 @@
+package arrays;
+
+// DynamicArray of fixed width records kept outside of the java heap
+// records are encoded into direct ByteBuffers by a RecordCodec, so the GC
+// never has to trace or copy them no matter how many there are
+
+// instead of one big array that is copied on every resize, storage is a list
+// of equally sized chunks - growing only allocates a new chunk and never
+// copies, and the total size is not limited to the 2GB of a single buffer
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+public class OffHeapDynamicArray<T> implements Iterable<T>, AutoCloseable {
+    static final int DEFAULT_CHUNK_BYTES = 1 << 20;
+
+    final RecordCodec<T> codec;
+    final int recordSize;
+    // records per chunk is a power of 2 so index -> chunk is a shift and a mask
+    final int chunkShift;
+    final int chunkMask;
+
+    ByteBuffer[] chunks = new ByteBuffer[8];
+    int numChunks = 0;
+    long len = 0; // displayed to user
+
+    public OffHeapDynamicArray(RecordCodec<T> codec) {
+        this(codec, DEFAULT_CHUNK_BYTES);
+    }
+
+    // chunkBytes is an upper bound on the size of each chunk
+    public OffHeapDynamicArray(RecordCodec<T> codec, int chunkBytes) {
+        if (codec.recordSize() <= 0) throw new IllegalArgumentException("Invalid record size - must be more than 0");
+        if (chunkBytes < codec.recordSize()) throw new IllegalArgumentException("Invalid chunk size - smaller than one record");
+        this.codec = codec;
+        this.recordSize = codec.recordSize();
+        // largest power of 2 number of records that fits in chunkBytes
+        this.chunkShift = 31 - Integer.numberOfLeadingZeros(chunkBytes / recordSize);
+        this.chunkMask = (1 << chunkShift) - 1;
+    }
+
+    // allocates the storage for chunk number chunkIndex
+    // overridden by MappedDynamicArray to map a region of a file instead
+    ByteBuffer allocateChunk(int chunkIndex) {
+        return ByteBuffer.allocateDirect(chunkBytes()).order(ByteOrder.nativeOrder());
+    }
+
+    // lets subclasses persist the length whenever it changes
+    void lengthChanged() {
+    }
+
+    final int chunkBytes() {
+        return recordSize << chunkShift;
+    }
+
+    // operations
+    public T get(long index) {
+        if ( index < 0 || index >= len ) throw new IndexOutOfBoundsException();
+        return codec.read(chunks[(int) (index >>> chunkShift)], offset(index));
+    }
+
+    public void set(long index, T val) {
+        if ( index < 0 || index >= len ) throw new IndexOutOfBoundsException();
+        codec.write(chunks[(int) (index >>> chunkShift)], offset(index), val);
+    }
+
+    public void add(T element) {
+        int chunkIndex = (int) (len >>> chunkShift);
+        // time to grow - allocate one more chunk, existing records stay where they are
+        if (chunkIndex == numChunks) addChunk();
+        codec.write(chunks[chunkIndex], offset(len), element);
+        len = len + 1;
+        lengthChanged();
+    }
+
+    private int offset(long index) {
+        return ((int) index & chunkMask) * recordSize;
+    }
+
+    void addChunk() {
+        if (numChunks == chunks.length) chunks = Arrays.copyOf(chunks, numChunks * 2);
+        chunks[numChunks] = allocateChunk(numChunks);
+        numChunks++;
+    }
+
+    public long size() {
+        return len;
+    }
+
+    public boolean isEmpty() {
+        return len == 0;
+    }
+
+    // keeps the chunks around so the array can be refilled without allocating
+    public void clear() {
+        len = 0;
+        lengthChanged();
+    }
+
+    // drops the chunks - direct memory is returned once the buffers are collected
+    // the array must not be used afterwards
+    @Override
+    public void close() {
+        Arrays.fill(chunks, null);
+        numChunks = 0;
+        len = 0;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            long index = 0;
+            @Override
+            public boolean hasNext() {
+                return index < len;
+            }
+
+            @Override
+            public T next() {
+                if (index >= len) throw new NoSuchElementException();
+                return get(index++);
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        if (len == 0) return "[]";
+        StringBuilder sb = new StringBuilder().append("[");
+        for (long i = 0; i < len; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(get(i));
+        }
+        return sb.append("]").toString();
+    }
+}
@@ -0,0 +1,35 @@
+package arrays;
+
+import java.nio.ByteBuffer;
+
+// describes how a fixed width record is laid out in raw memory
+// used by OffHeapDynamicArray and MappedDynamicArray, which store bytes instead of references
+public interface RecordCodec<T> {
+    // number of bytes every record occupies
+    int recordSize();
+
+    // write value into buf starting at the absolute byte offset
+    // must not write more than recordSize() bytes or touch the buffer position
+    void write(ByteBuffer buf, int offset, T value);
+
+    // read a record back from the absolute byte offset
+    T read(ByteBuffer buf, int offset);
+
+    RecordCodec<Integer> INT = new RecordCodec<Integer>() {
+        @Override public int recordSize() { return Integer.BYTES; }
+        @Override public void write(ByteBuffer buf, int offset, Integer value) { buf.putInt(offset, value); }
+        @Override public Integer read(ByteBuffer buf, int offset) { return buf.getInt(offset); }
+    };
+
+    RecordCodec<Long> LONG = new RecordCodec<Long>() {
+        @Override public int recordSize() { return Long.BYTES; }
+        @Override public void write(ByteBuffer buf, int offset, Long value) { buf.putLong(offset, value); }
+        @Override public Long read(ByteBuffer buf, int offset) { return buf.getLong(offset); }
+    };
+
+    RecordCodec<Double> DOUBLE = new RecordCodec<Double>() {
+        @Override public int recordSize() { return Double.BYTES; }
+        @Override public void write(ByteBuffer buf, int offset, Double value) { buf.putDouble(offset, value); }
+        @Override public Double read(ByteBuffer buf, int offset) { return buf.getDouble(offset); }
+    };
+}
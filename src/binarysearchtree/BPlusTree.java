@@ -0,0 +1,523 @@
+package binarysearchtree;
+
+// ordered set stored as a B+ tree - the cache conscious counterpart of
+// BinarySearchTree for very large key sets
+// - every node holds up to fanout keys in one array, so a lookup does
+//   log_fanout(n) node visits with a binary search over a contiguous array in
+//   each, instead of one pointer chase (and likely cache miss) per key compared
+// - all keys live in the leaves, which are linked left to right, so iteration
+//   and range scans read the leaves in order without going back up the tree
+// - internal nodes hold separators: keys in children[i] are >= keys[i - 1] and
+//   < keys[i]
+// bulkLoad builds the tree bottom up from sorted input in O(n), filling leaves
+// in order instead of searching for each key
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+public class BPlusTree<T extends Comparable<T>> implements Iterable<T> {
+    private static final int DEFAULT_FANOUT = 64;
+    private static final int MIN_FANOUT = 4;
+
+    // max keys in a leaf and max children of an internal node
+    private final int fanout;
+    // every node except the root keeps at least this many keys (leaves) or
+    // children (internal nodes), so two underfull siblings always fit in one
+    private final int minLeafKeys;
+    private final int minChildren;
+
+    private Node rootNode;
+    private int size = 0;
+
+    private class Node {
+        // one spare slot so a node can overflow by one before it is split
+        final Object[] keys;
+        // null for leaves
+        final Node[] children;
+        // keys in a leaf, children in an internal node
+        int count = 0;
+        // next leaf to the right, null for internal nodes and the last leaf
+        Node next;
+
+        Node(boolean leaf) {
+            keys = new Object[fanout + 1];
+            children = leaf ? null : newChildren(fanout + 1);
+        }
+
+        boolean isLeaf() {
+            return children == null;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Node[] newChildren(int length) {
+            return (Node[]) new BPlusTree<?>.Node[length];
+        }
+
+        @SuppressWarnings("unchecked")
+        T key(int i) {
+            return (T) keys[i];
+        }
+    }
+
+    public BPlusTree() {
+        this(DEFAULT_FANOUT);
+    }
+
+    public BPlusTree(int fanout) {
+        if (fanout < MIN_FANOUT) throw new IllegalArgumentException("Fanout must be at least " + MIN_FANOUT);
+        this.fanout = fanout;
+        this.minLeafKeys = fanout / 2;
+        this.minChildren = (fanout + 1) / 2;
+        this.rootNode = new Node(true);
+    }
+
+    // builds a tree from elems in ascending order in O(n) - leaves are filled
+    // left to right and each level of separators is built from the one below,
+    // so no key is searched for; equal neighbours are kept once
+    public static <T extends Comparable<T>> BPlusTree<T> bulkLoad(Iterator<? extends T> sorted) {
+        return bulkLoad(sorted, DEFAULT_FANOUT);
+    }
+
+    public static <T extends Comparable<T>> BPlusTree<T> bulkLoad(Iterator<? extends T> sorted, int fanout) {
+        BPlusTree<T> tree = new BPlusTree<>(fanout);
+        tree.load(sorted);
+        return tree;
+    }
+
+    private void load(Iterator<? extends T> sorted) {
+        List<Node> level = new ArrayList<>();
+        // smallest key under each node of the level, the separators for the level above
+        List<T> mins = new ArrayList<>();
+
+        Node leaf = null;
+        T prev = null;
+        while (sorted.hasNext()) {
+            T elem = sorted.next();
+            if (elem == null) throw new IllegalArgumentException();
+            // one compare against the previous key only, to reject unsorted input
+            if (prev != null) {
+                int cmp = elem.compareTo(prev);
+                if (cmp < 0) throw new IllegalArgumentException("Input is not sorted");
+                if (cmp == 0) continue;
+            }
+            if (leaf == null || leaf.count == fanout) {
+                Node nextLeaf = new Node(true);
+                if (leaf != null) leaf.next = nextLeaf;
+                leaf = nextLeaf;
+                level.add(leaf);
+                mins.add(elem);
+            }
+            leaf.keys[leaf.count++] = elem;
+            prev = elem;
+            size++;
+        }
+        if (level.isEmpty()) return;
+        balanceLastLeaf(level, mins);
+
+        // build internal levels until a single node is left
+        while (level.size() > 1) {
+            List<Node> parents = new ArrayList<>();
+            List<T> parentMins = new ArrayList<>();
+            Node parent = null;
+            for (int i = 0; i < level.size(); i++) {
+                if (parent == null || parent.count == fanout) {
+                    parent = new Node(false);
+                    parents.add(parent);
+                    parentMins.add(mins.get(i));
+                } else {
+                    parent.keys[parent.count - 1] = mins.get(i);
+                }
+                parent.children[parent.count++] = level.get(i);
+            }
+            balanceLastInternal(parents, parentMins);
+            level = parents;
+            mins = parentMins;
+        }
+        rootNode = level.get(0);
+    }
+
+    // the last leaf gets whatever is left over - even it out with the one before
+    private void balanceLastLeaf(List<Node> leaves, List<T> mins) {
+        int n = leaves.size();
+        Node last = leaves.get(n - 1);
+        if (n == 1 || last.count >= minLeafKeys) return;
+        Node prev = leaves.get(n - 2);
+        int move = (prev.count + last.count) / 2 - last.count;
+        System.arraycopy(last.keys, 0, last.keys, move, last.count);
+        System.arraycopy(prev.keys, prev.count - move, last.keys, 0, move);
+        Arrays.fill(prev.keys, prev.count - move, prev.count, null);
+        prev.count -= move;
+        last.count += move;
+        mins.set(n - 1, last.key(0));
+    }
+
+    // same for the last internal node of a level - the separator between the
+    // two moves along with the children
+    private void balanceLastInternal(List<Node> nodes, List<T> mins) {
+        int n = nodes.size();
+        Node last = nodes.get(n - 1);
+        if (n == 1 || last.count >= minChildren) return;
+        Node prev = nodes.get(n - 2);
+        int move = (prev.count + last.count) / 2 - last.count;
+        // the separator between prev and last is the smallest key under last
+        T separator = smallestKey(last);
+        System.arraycopy(last.children, 0, last.children, move, last.count);
+        System.arraycopy(last.keys, 0, last.keys, move, last.count - 1);
+        System.arraycopy(prev.children, prev.count - move, last.children, 0, move);
+        last.keys[move - 1] = separator;
+        System.arraycopy(prev.keys, prev.count - move, last.keys, 0, move - 1);
+        Arrays.fill(prev.children, prev.count - move, prev.count, null);
+        Arrays.fill(prev.keys, prev.count - move - 1, prev.count - 1, null);
+        prev.count -= move;
+        last.count += move;
+        mins.set(n - 1, smallestKey(last));
+    }
+
+    private T smallestKey(Node node) {
+        while (!node.isLeaf()) node = node.children[0];
+        return node.key(0);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        rootNode = new Node(true);
+        size = 0;
+    }
+
+    // number of levels, leaves included
+    public int height() {
+        int height = 1;
+        for (Node node = rootNode; !node.isLeaf(); node = node.children[0]) height++;
+        return height;
+    }
+
+    // first index in node.keys[0, n) whose key is greater than elem
+    private int upperBound(Node node, int n, T elem) {
+        int lo = 0, hi = n;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (node.key(mid).compareTo(elem) <= 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // first index in leaf.keys[0, count) whose key is not less than elem
+    private int lowerBound(Node leaf, T elem) {
+        int lo = 0, hi = leaf.count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (leaf.key(mid).compareTo(elem) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // the child of an internal node whose key range holds elem
+    private int childIndex(Node node, T elem) {
+        return upperBound(node, node.count - 1, elem);
+    }
+
+    private Node findLeaf(T elem) {
+        Node node = rootNode;
+        while (!node.isLeaf()) node = node.children[childIndex(node, elem)];
+        return node;
+    }
+
+    public boolean contains(T elem) {
+        if (elem == null) return false;
+        Node leaf = findLeaf(elem);
+        int i = lowerBound(leaf, elem);
+        return i < leaf.count && leaf.key(i).compareTo(elem) == 0;
+    }
+
+    public T first() {
+        if (isEmpty()) throw new NoSuchElementException();
+        Node node = rootNode;
+        while (!node.isLeaf()) node = node.children[0];
+        return node.key(0);
+    }
+
+    public T last() {
+        if (isEmpty()) throw new NoSuchElementException();
+        Node node = rootNode;
+        while (!node.isLeaf()) node = node.children[node.count - 1];
+        return node.key(node.count - 1);
+    }
+
+    public boolean add(T elem) {
+        if (elem == null) throw new IllegalArgumentException();
+        // the leaf insert bumps size, so no separate contains() pass is needed
+        int before = size;
+        Node sibling = add(rootNode, elem);
+        if (size == before) return false;
+        if (sibling != null) {
+            // the root split - grow a new root above the two halves
+            Node root = new Node(false);
+            root.children[0] = rootNode;
+            root.children[1] = sibling;
+            root.keys[0] = smallestKey(sibling);
+            root.count = 2;
+            rootNode = root;
+        }
+        return true;
+    }
+
+    // adds elem below node in a single pass down - returns the new right
+    // sibling if node had to split, null if it did not
+    private Node add(Node node, T elem) {
+        if (node.isLeaf()) {
+            int i = lowerBound(node, elem);
+            if (i < node.count && node.key(i).compareTo(elem) == 0) return null;
+            System.arraycopy(node.keys, i, node.keys, i + 1, node.count - i);
+            node.keys[i] = elem;
+            node.count++;
+            size++;
+            return node.count > fanout ? splitLeaf(node) : null;
+        }
+
+        int i = childIndex(node, elem);
+        Node sibling = add(node.children[i], elem);
+        if (sibling == null) return null;
+
+        // link the new child in right after the one that split
+        System.arraycopy(node.children, i + 1, node.children, i + 2, node.count - i - 1);
+        System.arraycopy(node.keys, i, node.keys, i + 1, node.count - 1 - i);
+        node.children[i + 1] = sibling;
+        node.keys[i] = smallestKey(sibling);
+        node.count++;
+        return node.count > fanout ? splitInternal(node) : null;
+    }
+
+    private Node splitLeaf(Node leaf) {
+        Node right = new Node(true);
+        int keep = leaf.count / 2;
+        right.count = leaf.count - keep;
+        System.arraycopy(leaf.keys, keep, right.keys, 0, right.count);
+        Arrays.fill(leaf.keys, keep, leaf.count, null);
+        leaf.count = keep;
+        right.next = leaf.next;
+        leaf.next = right;
+        return right;
+    }
+
+    // the separator between the two halves moves up into the parent, which
+    // reads it back with smallestKey(right)
+    private Node splitInternal(Node node) {
+        Node right = new Node(false);
+        int keep = node.count / 2;
+        right.count = node.count - keep;
+        System.arraycopy(node.children, keep, right.children, 0, right.count);
+        System.arraycopy(node.keys, keep, right.keys, 0, right.count - 1);
+        Arrays.fill(node.children, keep, node.count, null);
+        Arrays.fill(node.keys, keep - 1, node.count - 1, null);
+        node.count = keep;
+        return right;
+    }
+
+    public boolean remove(T elem) {
+        if (elem == null) return false;
+        if (!remove(rootNode, elem)) return false;
+        // the root lost its second to last child - its only child becomes the root
+        if (!rootNode.isLeaf() && rootNode.count == 1) rootNode = rootNode.children[0];
+        size--;
+        return true;
+    }
+
+    // removes elem below node in a single pass down, fixing underfull children
+    // on the way back up
+    private boolean remove(Node node, T elem) {
+        if (node.isLeaf()) {
+            int i = lowerBound(node, elem);
+            if (i == node.count || node.key(i).compareTo(elem) != 0) return false;
+            System.arraycopy(node.keys, i + 1, node.keys, i, node.count - i - 1);
+            node.keys[--node.count] = null;
+            return true;
+        }
+
+        int i = childIndex(node, elem);
+        if (!remove(node.children[i], elem)) return false;
+        Node child = node.children[i];
+        if (child.count < (child.isLeaf() ? minLeafKeys : minChildren)) rebalance(node, i);
+        return true;
+    }
+
+    // child i of parent is one under the minimum - borrow from a sibling that
+    // can spare one, otherwise merge it with a sibling
+    private void rebalance(Node parent, int i) {
+        Node child = parent.children[i];
+        Node left = i > 0 ? parent.children[i - 1] : null;
+        Node right = i + 1 < parent.count ? parent.children[i + 1] : null;
+        int min = child.isLeaf() ? minLeafKeys : minChildren;
+
+        if (left != null && left.count > min) {
+            borrowFromLeft(parent, i, left, child);
+        } else if (right != null && right.count > min) {
+            borrowFromRight(parent, i, child, right);
+        } else if (left != null) {
+            merge(parent, i - 1, left, child);
+        } else {
+            merge(parent, i, child, right);
+        }
+    }
+
+    private void borrowFromLeft(Node parent, int i, Node left, Node child) {
+        if (child.isLeaf()) {
+            System.arraycopy(child.keys, 0, child.keys, 1, child.count);
+            child.keys[0] = left.keys[left.count - 1];
+            left.keys[--left.count] = null;
+            child.count++;
+            parent.keys[i - 1] = child.keys[0];
+        } else {
+            // rotate through the parent: its separator comes down in front of
+            // child and left's last separator goes up
+            System.arraycopy(child.children, 0, child.children, 1, child.count);
+            System.arraycopy(child.keys, 0, child.keys, 1, child.count - 1);
+            child.children[0] = left.children[left.count - 1];
+            child.keys[0] = parent.keys[i - 1];
+            parent.keys[i - 1] = left.keys[left.count - 2];
+            left.children[left.count - 1] = null;
+            left.keys[left.count - 2] = null;
+            left.count--;
+            child.count++;
+        }
+    }
+
+    private void borrowFromRight(Node parent, int i, Node child, Node right) {
+        if (child.isLeaf()) {
+            child.keys[child.count++] = right.keys[0];
+            System.arraycopy(right.keys, 1, right.keys, 0, right.count - 1);
+            right.keys[--right.count] = null;
+            parent.keys[i] = right.keys[0];
+        } else {
+            child.children[child.count] = right.children[0];
+            child.keys[child.count - 1] = parent.keys[i];
+            child.count++;
+            parent.keys[i] = right.keys[0];
+            System.arraycopy(right.children, 1, right.children, 0, right.count - 1);
+            System.arraycopy(right.keys, 1, right.keys, 0, right.count - 2);
+            right.children[right.count - 1] = null;
+            right.keys[right.count - 2] = null;
+            right.count--;
+        }
+    }
+
+    // appends children[i + 1] (right) to children[i] (left) and drops right and
+    // the separator between them from the parent
+    private void merge(Node parent, int i, Node left, Node right) {
+        if (left.isLeaf()) {
+            System.arraycopy(right.keys, 0, left.keys, left.count, right.count);
+            left.count += right.count;
+            left.next = right.next;
+        } else {
+            // the separator comes down between the two halves
+            left.keys[left.count - 1] = parent.keys[i];
+            System.arraycopy(right.keys, 0, left.keys, left.count, right.count - 1);
+            System.arraycopy(right.children, 0, left.children, left.count, right.count);
+            left.count += right.count;
+        }
+        System.arraycopy(parent.children, i + 2, parent.children, i + 1, parent.count - i - 2);
+        System.arraycopy(parent.keys, i + 1, parent.keys, i, parent.count - i - 2);
+        parent.count--;
+        parent.children[parent.count] = null;
+        parent.keys[parent.count - 1] = null;
+    }
+
+    // ascending, reading the linked leaves left to right
+    @Override
+    public Iterator<T> iterator() {
+        Node leaf = rootNode;
+        while (!leaf.isLeaf()) leaf = leaf.children[0];
+        return new LeafIterator(leaf, 0, null);
+    }
+
+    // ascending iterator over the elems in [lo, hi) - lo inclusive, hi exclusive
+    // like BinarySearchTree.subSet
+    public Iterator<T> subSet(T lo, T hi) {
+        Node leaf = findLeaf(lo);
+        return new LeafIterator(leaf, lowerBound(leaf, lo), hi);
+    }
+
+    private class LeafIterator implements Iterator<T> {
+        private final int expectedNodeCount = size;
+        private final T hi;
+        private Node leaf;
+        private int index;
+
+        LeafIterator(Node leaf, int index, T hi) {
+            this.leaf = leaf;
+            this.index = index;
+            this.hi = hi;
+            skipExhaustedLeaves();
+        }
+
+        private void skipExhaustedLeaves() {
+            while (leaf != null && index == leaf.count) {
+                leaf = leaf.next;
+                index = 0;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (expectedNodeCount != size) throw new ConcurrentModificationException();
+            return leaf != null && (hi == null || leaf.key(index).compareTo(hi) < 0);
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            T elem = leaf.key(index++);
+            skipExhaustedLeaves();
+            return elem;
+        }
+    }
+
+    // test to check the key order, node occupancy, that all leaves are at the
+    // same depth and that the leaf links visit every key in order
+    public boolean isBPlusTree() {
+        int[] leafDepth = {-1};
+        if (!isValid(rootNode, null, null, 0, leafDepth)) return false;
+
+        int count = 0;
+        T prev = null;
+        for (T elem : this) {
+            if (prev != null && prev.compareTo(elem) >= 0) return false;
+            prev = elem;
+            count++;
+        }
+        return count == size;
+    }
+
+    private boolean isValid(Node node, T lo, T hi, int depth, int[] leafDepth) {
+        boolean isRoot = node == rootNode;
+        if (node.isLeaf()) {
+            if (!isRoot && node.count < minLeafKeys) return false;
+            if (leafDepth[0] == -1) leafDepth[0] = depth;
+            if (leafDepth[0] != depth) return false;
+            for (int i = 0; i < node.count; i++) {
+                if (lo != null && node.key(i).compareTo(lo) < 0) return false;
+                if (hi != null && node.key(i).compareTo(hi) >= 0) return false;
+            }
+            return true;
+        }
+        if (node.count < (isRoot ? 2 : minChildren) || node.count > fanout) return false;
+        for (int i = 0; i < node.count; i++) {
+            T childLo = i == 0 ? lo : node.key(i - 1);
+            T childHi = i == node.count - 1 ? hi : node.key(i);
+            if (!isValid(node.children[i], childLo, childHi, depth + 1, leafDepth)) return false;
+        }
+        return true;
+    }
+}
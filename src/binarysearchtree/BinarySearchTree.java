@@ -1,12 +1,34 @@
 package binarysearchtree;
 
+import stack.IntStack;
+
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.ConcurrentModificationException;
 import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.Queue;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// binary search tree, optionally self balancing as a red-black tree
+// - add and remove are iterative and walk down the tree once: the walk that
+//   looks for the key is also the one that finds where to attach or unlink it
+// - nodes keep a parent pointer, so updating subtree sizes and rebalancing
+//   climb back up without recursion, and a degenerate tree cannot overflow the stack
+// - every node also keeps the size of its subtree, which turns
+//   rank/select/countInRange into a single walk down the tree
+// the default is unbalanced, so sorted input (e.g. loading a sorted export)
+// degenerates into a linked list with O(n) operations - new
+// BinarySearchTree<>(true), or RedBlackTree, keeps the height under 2 log2(n + 1)
+public class BinarySearchTree<T extends Comparable<T>> implements Iterable<T> {
+    private static final boolean RED = true;
+    private static final boolean BLACK = false;
+
+    // rebalance as a red-black tree after every add and remove
+    private final boolean balanced;
 
-// great practice for recursion and wishful thinking
-public class BinarySearchTree<T extends Comparable<T>> {
     // number of nodes
     private int size = 0;
 
@@ -16,15 +38,27 @@ public class BinarySearchTree<T extends Comparable<T>> {
     private class Node {
         T data;
         // pointers to children elements
-        Node left, right;
+        Node left, right, parent;
+        // number of nodes in the subtree rooted here, including this one
+        int size = 1;
+        // only used when balanced - new nodes start red so adding them never
+        // changes a black height
+        boolean color = RED;
 
-        public Node(T elem, Node left, Node right) {
+        public Node(T elem, Node parent) {
             this.data = elem;
-            this.left = left;
-            this.right = right;
+            this.parent = parent;
         }
     }
 
+    public BinarySearchTree() {
+        this(false);
+    }
+
+    public BinarySearchTree(boolean balanced) {
+        this.balanced = balanced;
+    }
+
     // getter method
     public int size() {
         return size;
@@ -34,116 +68,428 @@ public class BinarySearchTree<T extends Comparable<T>> {
         return size() == 0;
     }
 
+    public void clear() {
+        rootNode = null;
+        size = 0;
+    }
+
+    // null subtrees have size 0
+    private int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    // we are only adding new elements to the leaf nodes.
     public boolean add(T elem) {
-        if (contains(elem)) {
-            return false;
-        } else {
-            rootNode = add(rootNode, elem);
-            size++;
-            return true;
+        if (elem == null) throw new IllegalArgumentException();
+
+        // single pass down - either meet an equal key or the leaf to attach to
+        Node parent = null;
+        Node node = rootNode;
+        int cmp = 0;
+        while (node != null) {
+            parent = node;
+            cmp = elem.compareTo(node.data);
+            if (cmp == 0) return false;
+            node = cmp < 0 ? node.left : node.right;
         }
+
+        Node added = new Node(elem, parent);
+        if (parent == null) rootNode = added;
+        else if (cmp < 0) parent.left = added;
+        else parent.right = added;
+        size++;
+        for (Node ancestor = parent; ancestor != null; ancestor = ancestor.parent) ancestor.size++;
+
+        if (balanced) fixAfterAdd(added);
+        return true;
     }
 
-    // we are only adding new elements to the leaf nodes.
-    private Node add(Node node, T elem) {
-        // if the current node is a leaf node
-        // create a brand new node with no children nodes and value of elem
-        if (node == null) {
-            node = new Node(elem, null, null);
-        } else if (elem.compareTo(node.data) < 0) {
-            node.left = add(node.left, elem);
+    public boolean remove(T elem) {
+        Node node = find(elem);
+        if (node == null) return false;
+        size--;
+
+        // case 3: has 2 subtrees
+        // 2 possibilities - either swap with the min of the right
+        // subtree or the max of the left subtree (we do the right for this)
+        // then unlink that node instead, which has at most one child
+        if (node.left != null && node.right != null) {
+            Node successor = digLeftmost(node.right);
+            node.data = successor.data;
+            node = successor;
+        }
+
+        // case 1 & 2: no children nodes or only 1 subtree
+        Node replacement = node.left != null ? node.left : node.right;
+        Node parent = node.parent;
+        if (replacement != null) {
+            replaceChild(node, replacement);
+            shrinkAncestors(parent);
+            // removing a black node takes one black off every path through it
+            if (balanced && node.color == BLACK) fixAfterRemove(replacement);
+        } else if (parent == null) {
+            // the only node
+            rootNode = null;
         } else {
-            node.right = add(node.right, elem);
+            // a leaf - rebalance while it is still linked, so it can stand in as
+            // the node that is one black short, then unlink it from wherever the
+            // rotations left it
+            if (balanced && node.color == BLACK) fixAfterRemove(node);
+            parent = node.parent;
+            replaceChild(node, null);
+            shrinkAncestors(parent);
         }
+        return true;
+    }
+
+    // one fewer node under each of node and its ancestors
+    private void shrinkAncestors(Node node) {
+        for (; node != null; node = node.parent) node.size--;
+    }
+
+    // links child into the place of node under node's parent
+    private void replaceChild(Node node, Node child) {
+        Node parent = node.parent;
+        if (child != null) child.parent = parent;
+        if (parent == null) rootNode = child;
+        else if (node == parent.left) parent.left = child;
+        else parent.right = child;
+        node.parent = null;
+    }
 
+    private Node digLeftmost(Node node) {
+        while (node.left != null) node = node.left;
         return node;
     }
 
-    public boolean remove(T elem) {
-        if (contains(elem)) {
-            rootNode = remove(rootNode, elem);
-            size--;
-            return true;
-        } else {
-            return false;
+    public boolean contains(T elem) {
+        return find(elem) != null;
+    }
+
+    private Node find(T elem) {
+        if (elem == null) return null;
+        Node node = rootNode;
+        while (node != null) {
+            int cmp = elem.compareTo(node.data);
+            if (cmp == 0) return node;
+            node = cmp < 0 ? node.left : node.right;
         }
+        return null;
     }
 
-    public Node remove(Node node, T elem) {
-        if (node == null) return null;
-        int cmp = elem.compareTo(node.data);
+    // depth first with an explicit stack of nodes and their depths, so even a
+    // degenerate tree does not recurse once per level
+    public int height() {
+        if (rootNode == null) return 0;
+        NodeStack nodes = new NodeStack();
+        IntStack depths = new IntStack();
+        nodes.push(rootNode);
+        depths.push(1);
+        int height = 0;
+        while (!nodes.isEmpty()) {
+            Node node = nodes.pop();
+            int depth = depths.pop();
+            height = Math.max(height, depth);
+            if (node.left != null) {
+                nodes.push(node.left);
+                depths.push(depth + 1);
+            }
+            if (node.right != null) {
+                nodes.push(node.right);
+                depths.push(depth + 1);
+            }
+        }
+        return height;
+    }
 
-        if (cmp < 0) {
-            node.left = remove(node.left, elem);
-        } else if (cmp > 0) {
-            node.right = remove(node.right, elem);
-        } else {
-            // currently the node we want to remove
-            // case 1 & 2: no children nodes or only 1 subtree
-            // if only 1 subtree - then we the other subtree is null
-            // which we assign to the current node.
-            if (node.left == null) {
-                return node.right;
-            } else if (node.right == null) {
-                return node.left;
+    // restores "no red node has a red child" after adding the red node x
+    private void fixAfterAdd(Node x) {
+        while (x != rootNode && colorOf(x.parent) == RED) {
+            Node parent = x.parent;
+            Node grandparent = parent.parent;
+            if (parent == grandparent.left) {
+                Node uncle = grandparent.right;
+                if (colorOf(uncle) == RED) {
+                    // recolor and push the problem two levels up
+                    parent.color = BLACK;
+                    uncle.color = BLACK;
+                    grandparent.color = RED;
+                    x = grandparent;
+                } else {
+                    // rotate x to the outside first, then rotate the grandparent
+                    if (x == parent.right) {
+                        x = parent;
+                        rotateLeft(x);
+                        parent = x.parent;
+                    }
+                    parent.color = BLACK;
+                    grandparent.color = RED;
+                    rotateRight(grandparent);
+                }
             } else {
-                // case 3: has 2 subtrees
-                // 2 possibilities - either swap with the min of the right
-                // subtree or the max of the left subtree (we do the right for this)
-                // the max node is the rightmost node
-                Node tmp = digRightmost(node);
+                // mirror image of the above
+                Node uncle = grandparent.left;
+                if (colorOf(uncle) == RED) {
+                    parent.color = BLACK;
+                    uncle.color = BLACK;
+                    grandparent.color = RED;
+                    x = grandparent;
+                } else {
+                    if (x == parent.left) {
+                        x = parent;
+                        rotateRight(x);
+                        parent = x.parent;
+                    }
+                    parent.color = BLACK;
+                    grandparent.color = RED;
+                    rotateLeft(grandparent);
+                }
+            }
+        }
+        rootNode.color = BLACK;
+    }
 
-                // need to swap data and then remove the tmp data from
-                // right subtree
-                node.data = tmp.data;
-                node.right = remove(node.right, tmp.data);
+    // restores equal black heights when paths through x are one black short
+    private void fixAfterRemove(Node x) {
+        while (x != rootNode && colorOf(x) == BLACK) {
+            Node parent = x.parent;
+            if (x == parent.left) {
+                Node sibling = parent.right;
+                if (colorOf(sibling) == RED) {
+                    // make the sibling black so one of the cases below applies
+                    sibling.color = BLACK;
+                    parent.color = RED;
+                    rotateLeft(parent);
+                    sibling = parent.right;
+                }
+                if (colorOf(sibling.left) == BLACK && colorOf(sibling.right) == BLACK) {
+                    // take a black off the sibling's side too and move up
+                    sibling.color = RED;
+                    x = parent;
+                } else {
+                    if (colorOf(sibling.right) == BLACK) {
+                        sibling.left.color = BLACK;
+                        sibling.color = RED;
+                        rotateRight(sibling);
+                        sibling = parent.right;
+                    }
+                    // borrow a black from the sibling's side through a rotation
+                    sibling.color = parent.color;
+                    parent.color = BLACK;
+                    sibling.right.color = BLACK;
+                    rotateLeft(parent);
+                    x = rootNode;
+                }
+            } else {
+                // mirror image of the above
+                Node sibling = parent.left;
+                if (colorOf(sibling) == RED) {
+                    sibling.color = BLACK;
+                    parent.color = RED;
+                    rotateRight(parent);
+                    sibling = parent.left;
+                }
+                if (colorOf(sibling.left) == BLACK && colorOf(sibling.right) == BLACK) {
+                    sibling.color = RED;
+                    x = parent;
+                } else {
+                    if (colorOf(sibling.left) == BLACK) {
+                        sibling.right.color = BLACK;
+                        sibling.color = RED;
+                        rotateLeft(sibling);
+                        sibling = parent.left;
+                    }
+                    sibling.color = parent.color;
+                    parent.color = BLACK;
+                    sibling.left.color = BLACK;
+                    rotateRight(parent);
+                    x = rootNode;
+                }
             }
         }
-        return node;
+        x.color = BLACK;
     }
 
-    private Node digRightmost(Node node) {
-        // base case
-        // check for this current node only
-        if (node.right == null) {
-            return node;
-        } else {
-            // wishful thinking - we assume that dig rightmost will
-            // work for the rest of the right subtree
-            return digRightmost(node.right);
+    // null children count as black leaves
+    private boolean colorOf(Node node) {
+        return node == null ? BLACK : node.color;
+    }
+
+    //     node              r
+    //    /    \            / \
+    //   a      r   ->   node  c
+    //         / \       /  \
+    //        b   c     a    b
+    // r takes over the size of the whole subtree, node loses c and r
+    private void rotateLeft(Node node) {
+        Node r = node.right;
+        node.right = r.left;
+        if (r.left != null) r.left.parent = node;
+        r.parent = node.parent;
+        if (node.parent == null) rootNode = r;
+        else if (node == node.parent.left) node.parent.left = r;
+        else node.parent.right = r;
+        r.left = node;
+        node.parent = r;
+        r.size = node.size;
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private void rotateRight(Node node) {
+        Node l = node.left;
+        node.left = l.right;
+        if (l.right != null) l.right.parent = node;
+        l.parent = node.parent;
+        if (node.parent == null) rootNode = l;
+        else if (node == node.parent.right) node.parent.right = l;
+        else node.parent.left = l;
+        l.right = node;
+        node.parent = l;
+        l.size = node.size;
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    // test to check the search order, the parent pointers and subtree sizes,
+    // that no red node has a red child and that every path from the root to a
+    // leaf has the same number of black nodes - RedBlackTree.isRedBlackTree
+    boolean hasRedBlackInvariants() {
+        return colorOf(rootNode) == BLACK && blackHeight(rootNode, null, null) != -1;
+    }
+
+    // black height of the subtree, or -1 if it breaks an invariant
+    // recursion is safe here since only a balanced tree is checked
+    private int blackHeight(Node node, T lo, T hi) {
+        if (node == null) return 1;
+        if (lo != null && node.data.compareTo(lo) <= 0) return -1;
+        if (hi != null && node.data.compareTo(hi) >= 0) return -1;
+        if (node.color == RED && (colorOf(node.left) == RED || colorOf(node.right) == RED)) return -1;
+        if (node.left != null && node.left.parent != node) return -1;
+        if (node.right != null && node.right.parent != node) return -1;
+        if (node.size != 1 + size(node.left) + size(node.right)) return -1;
+
+        int left = blackHeight(node.left, lo, node.data);
+        if (left == -1) return -1;
+        int right = blackHeight(node.right, node.data, hi);
+        if (right == -1 || left != right) return -1;
+        return left + (node.color == BLACK ? 1 : 0);
+    }
+
+    // number of elems strictly less than elem
+    public int rank(T elem) {
+        int rank = 0;
+        Node node = rootNode;
+        while (node != null) {
+            int cmp = elem.compareTo(node.data);
+            if (cmp < 0) {
+                node = node.left;
+            } else if (cmp > 0) {
+                // node and its whole left subtree are less than elem
+                rank += 1 + size(node.left);
+                node = node.right;
+            } else {
+                return rank + size(node.left);
+            }
         }
+        return rank;
     }
 
-    public boolean contains(T elem) {
-        return contains(rootNode, elem);
+    // k-th smallest elem, counting from 0
+    public T select(int k) {
+        if (k < 0 || k >= size) throw new IndexOutOfBoundsException();
+        Node node = rootNode;
+        while (true) {
+            int leftSize = size(node.left);
+            if (k < leftSize) {
+                node = node.left;
+            } else if (k > leftSize) {
+                // skip the left subtree and node itself
+                k -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node.data;
+            }
+        }
     }
 
-    private boolean contains(Node node, T elem) {
-        if (node == null) return false;
-        int cmp = elem.compareTo(node.data);
-        if (cmp == 0) return true;
-        else if (cmp < 0) {
-            return contains(node.left, elem);
-        } else {
-            return contains(node.right, elem);
+    // largest elem less than or equal to elem, or null if there is none
+    public T floor(T elem) {
+        T floor = null;
+        Node node = rootNode;
+        while (node != null) {
+            int cmp = elem.compareTo(node.data);
+            if (cmp == 0) return node.data;
+            if (cmp < 0) {
+                node = node.left;
+            } else {
+                // best so far - a closer one can only be in the right subtree
+                floor = node.data;
+                node = node.right;
+            }
         }
+        return floor;
     }
 
-    public int height() {
-        return height(rootNode);
+    // smallest elem greater than or equal to elem, or null if there is none
+    public T ceiling(T elem) {
+        T ceiling = null;
+        Node node = rootNode;
+        while (node != null) {
+            int cmp = elem.compareTo(node.data);
+            if (cmp == 0) return node.data;
+            if (cmp > 0) {
+                node = node.right;
+            } else {
+                // best so far - a closer one can only be in the left subtree
+                ceiling = node.data;
+                node = node.left;
+            }
+        }
+        return ceiling;
     }
 
-    // recursive process helper
-    private int height(Node node) {
-        if (node == null) {
-            return 0;
-        } else {
-            // accumulated deferred operations
-            return Math.max(height(node.left), height(node.right)) + 1;
+    // number of elems in [lo, hi) - lo inclusive, hi exclusive like subSet
+    public int countInRange(T lo, T hi) {
+        if (lo.compareTo(hi) >= 0) return 0;
+        return rank(hi) - rank(lo);
+    }
+
+    // ascending iterator over the elems in [lo, hi) - lo inclusive, hi exclusive
+    // like java.util.SortedSet.subSet
+    public Iterator<T> subSet(T lo, T hi) {
+        final NodeStack stack = new NodeStack();
+        // push the path to the ceiling of lo, keeping only the nodes >= lo
+        Node node = rootNode;
+        while (node != null) {
+            if (node.data.compareTo(lo) >= 0) {
+                stack.push(node);
+                node = node.left;
+            } else {
+                node = node.right;
+            }
         }
+
+        return new TreeIterator() {
+            @Override
+            boolean hasPending() {
+                return !stack.isEmpty() && stack.peek().data.compareTo(hi) < 0;
+            }
+
+            @Override
+            Node nextNode() {
+                Node next = stack.pop();
+                stack.pushLeftPath(next.right);
+                return next;
+            }
+        };
     }
 
-    private Iterator<T> traverse(TreeTraversalOrder order) {
+    // in order, i.e. ascending
+    @Override
+    public Iterator<T> iterator() {
+        return traverse(TreeTraversalOrder.IN_ORDER);
+    }
+
+    public Iterator<T> traverse(TreeTraversalOrder order) {
         switch (order) {
             case PRE_ORDER: return preOrderTraversal();
             case IN_ORDER: return inOrderTraversal();
@@ -153,45 +499,283 @@ public class BinarySearchTree<T extends Comparable<T>> {
         }
     }
 
+    // ascending, splitting on subtrees so a parallel stream reduces each
+    // subtree on its own core
+    @Override
+    public Spliterator<T> spliterator() {
+        return new TreeSpliterator(rootNode, false, false);
+    }
+
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    // the traversals keep their pending nodes in a growable array rather than a
+    // LinkedList, so visiting a node allocates nothing - it starts at about the
+    // height of a balanced tree of this size and only grows on deeper paths
+    private int initialStackCapacity() {
+        return 2 * (32 - Integer.numberOfLeadingZeros(size)) + 1;
+    }
+
+    private class NodeStack {
+        private Object[] arr = new Object[initialStackCapacity()];
+        private int size = 0;
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void push(Node node) {
+            if (size == arr.length) arr = Arrays.copyOf(arr, size * 2);
+            arr[size++] = node;
+        }
+
+        @SuppressWarnings("unchecked")
+        Node pop() {
+            Node node = (Node) arr[--size];
+            arr[size] = null;
+            return node;
+        }
+
+        @SuppressWarnings("unchecked")
+        Node peek() {
+            return (Node) arr[size - 1];
+        }
+
+        // pushes node and its chain of left children
+        void pushLeftPath(Node node) {
+            while (node != null) {
+                push(node);
+                node = node.left;
+            }
+        }
+    }
+
+    // fails fast if the tree changes size while iterating, like levelOrderTraversal did
+    private abstract class TreeIterator implements Iterator<T> {
+        private final int expectedNodeCount = size;
+
+        abstract boolean hasPending();
+
+        abstract Node nextNode();
+
+        void checkForComodification() {
+            if (expectedNodeCount != size) throw new ConcurrentModificationException();
+        }
+
+        @Override
+        public boolean hasNext() {
+            checkForComodification();
+            return hasPending();
+        }
+
+        @Override
+        public T next() {
+            checkForComodification();
+            if (!hasPending()) throw new NoSuchElementException();
+            return nextNode().data;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    // node, then left subtree, then right subtree
     private Iterator<T> preOrderTraversal() {
-        return null;
+        final NodeStack stack = new NodeStack();
+        if (rootNode != null) stack.push(rootNode);
+
+        return new TreeIterator() {
+            @Override
+            boolean hasPending() {
+                return !stack.isEmpty();
+            }
+
+            @Override
+            Node nextNode() {
+                Node node = stack.pop();
+                // push right first so the left subtree is visited first
+                if (node.right != null) stack.push(node.right);
+                if (node.left != null) stack.push(node.left);
+                return node;
+            }
+        };
     }
 
+    // left subtree, then node, then right subtree - ascending order
     private Iterator<T> inOrderTraversal() {
-        return null;
+        final NodeStack stack = new NodeStack();
+        stack.pushLeftPath(rootNode);
+
+        return new TreeIterator() {
+            @Override
+            boolean hasPending() {
+                return !stack.isEmpty();
+            }
+
+            @Override
+            Node nextNode() {
+                Node node = stack.pop();
+                // the successor is the leftmost node of the right subtree
+                stack.pushLeftPath(node.right);
+                return node;
+            }
+        };
     }
 
+    // left subtree, then right subtree, then node
     private Iterator<T> postOrderTraversal() {
-        return null;
+        final NodeStack stack = new NodeStack();
+        pushLeafPath(stack, rootNode);
+
+        return new TreeIterator() {
+            @Override
+            boolean hasPending() {
+                return !stack.isEmpty();
+            }
+
+            @Override
+            Node nextNode() {
+                Node node = stack.pop();
+                // coming back up from a left child - the right subtree is next
+                if (!stack.isEmpty()) {
+                    Node parent = stack.peek();
+                    if (node == parent.left) pushLeafPath(stack, parent.right);
+                }
+                return node;
+            }
+        };
     }
 
-    // use BFS - with queue
+    // pushes the path from node down to the first leaf visited in post order,
+    // preferring left children over right ones
+    private void pushLeafPath(NodeStack stack, Node node) {
+        while (node != null) {
+            stack.push(node);
+            node = node.left != null ? node.left : node.right;
+        }
+    }
+
+    // use BFS - with a growable ring buffer as the queue
     private Iterator<T> levelOrderTraversal() {
-        final int expectedNodeCount = size;
-        final Queue<Node> queue = new LinkedList<>();
-        queue.offer(rootNode);
+        return new TreeIterator() {
+            private Object[] queue = new Object[16];
+            private int head = 0;
+            private int count = 0;
 
-        return new Iterator<T>() {
-            @Override
-            public boolean hasNext() {
-                if (expectedNodeCount != size) throw new ConcurrentModificationException();
-                return rootNode != null && !queue.isEmpty();
+            {
+                if (rootNode != null) offer(rootNode);
+            }
+
+            private void offer(Node node) {
+                if (count == queue.length) {
+                    // unwrap into a larger array so head is back at 0
+                    Object[] larger = new Object[queue.length * 2];
+                    for (int i = 0; i < count; i++) larger[i] = queue[(head + i) % queue.length];
+                    queue = larger;
+                    head = 0;
+                }
+                queue[(head + count) % queue.length] = node;
+                count++;
             }
 
             @Override
-            public T next() {
-                if (expectedNodeCount != size) throw new ConcurrentModificationException();
-                Node node = queue.poll();
-                // add the element to the queue for next
-                if (node.left != null) queue.offer(node.left);
-                if (node.right != null) queue.offer(node.right);
-                return node.data;
+            boolean hasPending() {
+                return count > 0;
             }
 
             @Override
-            public void remove() {
-                throw new UnsupportedOperationException();
+            @SuppressWarnings("unchecked")
+            Node nextNode() {
+                Node node = (Node) queue[head];
+                queue[head] = null;
+                head = (head + 1) % queue.length;
+                count--;
+                // add the element to the queue for next
+                if (node.left != null) offer(node.left);
+                if (node.right != null) offer(node.right);
+                return node;
             }
         };
     }
+
+    // in order over root, plus its left subtree unless skipLeft and its right
+    // subtree unless skipRight - before the traversal starts it splits by
+    // handing off the left subtree (the lower keys) as the prefix, then root
+    // alone, keeping the right subtree for itself
+    private class TreeSpliterator implements Spliterator<T> {
+        private Node root;
+        private boolean skipLeft;
+        private final boolean skipRight;
+        // exact thanks to the subtree sizes
+        private long remaining;
+        // created when the traversal starts, after which it no longer splits
+        private NodeStack stack = null;
+        private final int expectedNodeCount = size;
+
+        TreeSpliterator(Node root, boolean skipLeft, boolean skipRight) {
+            this.root = root;
+            this.skipLeft = skipLeft;
+            this.skipRight = skipRight;
+            this.remaining = root == null ? 0
+                    : 1 + (skipLeft ? 0 : size(root.left)) + (skipRight ? 0 : size(root.right));
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            if (stack != null || root == null || skipRight) return null;
+            if (!skipLeft && root.left != null) {
+                remaining -= size(root.left);
+                skipLeft = true;
+                return new TreeSpliterator(root.left, false, false);
+            }
+            if (root.right == null) return null;
+            // hand off root alone and keep its right subtree
+            Spliterator<T> prefix = new TreeSpliterator(root, true, true);
+            root = root.right;
+            skipLeft = false;
+            remaining--;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (action == null) throw new NullPointerException();
+            if (stack == null) {
+                stack = new NodeStack();
+                if (skipLeft) stack.push(root);
+                else stack.pushLeftPath(root);
+            }
+            if (stack.isEmpty()) return false;
+
+            Node node = stack.pop();
+            if (node != root || !skipRight) stack.pushLeftPath(node.right);
+            remaining--;
+            action.accept(node.data);
+            if (expectedNodeCount != size) throw new ConcurrentModificationException();
+            return true;
+        }
+
+        @Override
+        public long estimateSize() {
+            return remaining;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SORTED | DISTINCT | NONNULL | SIZED | SUBSIZED;
+        }
+
+        // ascending by natural ordering
+        @Override
+        public Comparator<? super T> getComparator() {
+            return null;
+        }
+    }
 }
@@ -0,0 +1,260 @@
+package binarysearchtree;
+
+// thread safe ordered set with the BinarySearchTree API, as a lazy skip list
+// - contains and iteration never lock or retry: they walk the forward links and
+//   only look at a node's marked / fullyLinked flags, so readers never wait on
+//   a writer or on each other
+// - add and remove lock only the predecessors of the key (plus the victim on
+//   remove), validate that nothing changed between the search and the lock,
+//   and retry the search if something did
+// - remove first marks the node (the logical delete readers see), then unlinks
+//   it level by level, while add links the new node bottom up and only then
+//   flags it fullyLinked, so a key is in the set exactly when it is fullyLinked
+//   and not marked
+// iterators are weakly consistent: they see every key present for the whole
+// iteration and may or may not see keys added or removed meanwhile
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class ConcurrentSkipList<T extends Comparable<T>> implements Iterable<T> {
+    private static final int MAX_LEVEL = 32;
+    private static final VarHandle NEXT = MethodHandles.arrayElementVarHandle(Node[].class);
+
+    // sentinel with every level, its key is never compared
+    private final Node<T> head = new Node<>(null, MAX_LEVEL - 1);
+    private final AtomicInteger size = new AtomicInteger();
+
+    static final class Node<T> extends ReentrantLock {
+        private static final long serialVersionUID = 1L;
+
+        final T key;
+        final int topLevel;
+        // next[level], read and written through NEXT so readers see fully built nodes
+        final Node<T>[] next;
+        volatile boolean marked = false;
+        volatile boolean fullyLinked = false;
+
+        Node(T key, int topLevel) {
+            this.key = key;
+            this.topLevel = topLevel;
+            this.next = newNodes(topLevel + 1);
+        }
+
+        @SuppressWarnings("unchecked")
+        Node<T> next(int level) {
+            return (Node<T>) NEXT.getAcquire(next, level);
+        }
+
+        void setNext(int level, Node<T> node) {
+            NEXT.setRelease(next, level, node);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Node<T>[] newNodes(int length) {
+        return (Node<T>[]) new Node<?>[length];
+    }
+
+    // number of elems - exact only when no other thread is adding or removing
+    public int size() {
+        return size.get();
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    // level i is used with probability 2^-i
+    private static int randomLevel() {
+        return Integer.numberOfTrailingZeros(ThreadLocalRandom.current().nextInt() | (1 << (MAX_LEVEL - 1)));
+    }
+
+    // fills preds/succs with the nodes either side of elem at every level and
+    // returns the highest level elem was found at, or -1
+    private int find(T elem, Node<T>[] preds, Node<T>[] succs) {
+        int found = -1;
+        Node<T> pred = head;
+        for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+            Node<T> curr = pred.next(level);
+            while (curr != null && elem.compareTo(curr.key) > 0) {
+                pred = curr;
+                curr = pred.next(level);
+            }
+            if (found == -1 && curr != null && elem.compareTo(curr.key) == 0) found = level;
+            preds[level] = pred;
+            succs[level] = curr;
+        }
+        return found;
+    }
+
+    // wait free - a single walk down with no locks and no retries
+    public boolean contains(T elem) {
+        if (elem == null) return false;
+        Node<T> pred = head;
+        for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+            Node<T> curr = pred.next(level);
+            while (curr != null && elem.compareTo(curr.key) > 0) {
+                pred = curr;
+                curr = pred.next(level);
+            }
+            if (curr != null && elem.compareTo(curr.key) == 0) return curr.fullyLinked && !curr.marked;
+        }
+        return false;
+    }
+
+    public boolean add(T elem) {
+        if (elem == null) throw new IllegalArgumentException();
+        int topLevel = randomLevel();
+        Node<T>[] preds = newNodes(MAX_LEVEL);
+        Node<T>[] succs = newNodes(MAX_LEVEL);
+
+        while (true) {
+            int found = find(elem, preds, succs);
+            if (found != -1) {
+                Node<T> node = succs[found];
+                if (!node.marked) {
+                    // already present - wait for a concurrent add of it to finish
+                    while (!node.fullyLinked) Thread.onSpinWait();
+                    return false;
+                }
+                // being removed - retry once it is unlinked
+                continue;
+            }
+
+            int highestLocked = -1;
+            try {
+                boolean valid = true;
+                for (int level = 0; valid && level <= topLevel; level++) {
+                    Node<T> pred = preds[level];
+                    Node<T> succ = succs[level];
+                    // reentrant, so a pred shared by several levels is simply locked again
+                    pred.lock();
+                    highestLocked = level;
+                    valid = !pred.marked && (succ == null || !succ.marked) && pred.next(level) == succ;
+                }
+                if (!valid) continue;
+
+                Node<T> node = new Node<>(elem, topLevel);
+                for (int level = 0; level <= topLevel; level++) node.next[level] = succs[level];
+                // bottom up, so the node is reachable at level 0 before any level above
+                for (int level = 0; level <= topLevel; level++) preds[level].setNext(level, node);
+                node.fullyLinked = true;
+                size.incrementAndGet();
+                return true;
+            } finally {
+                for (int level = 0; level <= highestLocked; level++) preds[level].unlock();
+            }
+        }
+    }
+
+    public boolean remove(T elem) {
+        if (elem == null) return false;
+        Node<T>[] preds = newNodes(MAX_LEVEL);
+        Node<T>[] succs = newNodes(MAX_LEVEL);
+        Node<T> victim = null;
+        boolean isMarked = false;
+        int topLevel = -1;
+
+        while (true) {
+            int found = find(elem, preds, succs);
+            if (!isMarked) {
+                if (found == -1) return false;
+                victim = succs[found];
+                // only a fully linked node found at its own top level is safe to take
+                if (!victim.fullyLinked || victim.topLevel != found || victim.marked) return false;
+                topLevel = victim.topLevel;
+                victim.lock();
+                if (victim.marked) {
+                    // another remove got there first
+                    victim.unlock();
+                    return false;
+                }
+                // the logical delete - from here on contains() reports it absent
+                victim.marked = true;
+                isMarked = true;
+            }
+
+            int highestLocked = -1;
+            try {
+                boolean valid = true;
+                for (int level = 0; valid && level <= topLevel; level++) {
+                    Node<T> pred = preds[level];
+                    pred.lock();
+                    highestLocked = level;
+                    valid = !pred.marked && pred.next(level) == victim;
+                }
+                if (!valid) continue;
+
+                // top down, so the node leaves the upper levels first
+                for (int level = topLevel; level >= 0; level--) preds[level].setNext(level, victim.next(level));
+                victim.unlock();
+                size.decrementAndGet();
+                return true;
+            } finally {
+                for (int level = 0; level <= highestLocked; level++) preds[level].unlock();
+            }
+        }
+    }
+
+    // smallest elem, or null if the set is empty
+    public T first() {
+        Node<T> node = firstPresent(head.next(0));
+        return node == null ? null : node.key;
+    }
+
+    // the first node from node onwards that is in the set
+    private Node<T> firstPresent(Node<T> node) {
+        while (node != null && (node.marked || !node.fullyLinked)) node = node.next(0);
+        return node;
+    }
+
+    // ascending, walking level 0 without locking
+    @Override
+    public Iterator<T> iterator() {
+        return new SkipListIterator(head.next(0), null);
+    }
+
+    // ascending iterator over the elems in [lo, hi) - lo inclusive, hi exclusive
+    // like BinarySearchTree.subSet
+    public Iterator<T> subSet(T lo, T hi) {
+        // descend to the last node below lo, then step to the first one at or above it
+        Node<T> pred = head;
+        for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+            Node<T> curr = pred.next(level);
+            while (curr != null && lo.compareTo(curr.key) > 0) {
+                pred = curr;
+                curr = pred.next(level);
+            }
+        }
+        return new SkipListIterator(pred.next(0), hi);
+    }
+
+    private class SkipListIterator implements Iterator<T> {
+        private final T hi;
+        private Node<T> nextNode;
+
+        SkipListIterator(Node<T> start, T hi) {
+            this.hi = hi;
+            this.nextNode = firstPresent(start);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextNode != null && (hi == null || nextNode.key.compareTo(hi) < 0);
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            T key = nextNode.key;
+            nextNode = firstPresent(nextNode.next(0));
+            return key;
+        }
+    }
+}
@@ -0,0 +1,511 @@
+package binarysearchtree;
+
+// primitive long keyed version of BPlusTree - keys sit directly in long[]
+// node arrays instead of pointing at boxed Longs, so the binary search in each
+// node reads one contiguous block of keys and the tree holds no per key objects
+// same layout and algorithms as BPlusTree: linked leaves for range scans,
+// separators in internal nodes, and an O(n) bottom up bulkLoad
+
+import arrays.LongDynamicArray;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+public class LongBPlusTree {
+    private static final int DEFAULT_FANOUT = 64;
+    private static final int MIN_FANOUT = 4;
+
+    // max keys in a leaf and max children of an internal node
+    private final int fanout;
+    // every node except the root keeps at least this many keys (leaves) or
+    // children (internal nodes), so two underfull siblings always fit in one
+    private final int minLeafKeys;
+    private final int minChildren;
+
+    private Node rootNode;
+    private int size = 0;
+
+    private class Node {
+        // one spare slot so a node can overflow by one before it is split
+        final long[] keys;
+        // null for leaves
+        final Node[] children;
+        // keys in a leaf, children in an internal node
+        int count = 0;
+        // next leaf to the right, null for internal nodes and the last leaf
+        Node next;
+
+        Node(boolean leaf) {
+            keys = new long[fanout + 1];
+            children = leaf ? null : new LongBPlusTree.Node[fanout + 1];
+        }
+
+        boolean isLeaf() {
+            return children == null;
+        }
+
+        long key(int i) {
+            return keys[i];
+        }
+    }
+
+    public LongBPlusTree() {
+        this(DEFAULT_FANOUT);
+    }
+
+    public LongBPlusTree(int fanout) {
+        if (fanout < MIN_FANOUT) throw new IllegalArgumentException("Fanout must be at least " + MIN_FANOUT);
+        this.fanout = fanout;
+        this.minLeafKeys = fanout / 2;
+        this.minChildren = (fanout + 1) / 2;
+        this.rootNode = new Node(true);
+    }
+
+    // builds a tree from keys in ascending order in O(n) - leaves are filled
+    // left to right and each level of separators is built from the one below,
+    // so no key is searched for; equal neighbours are kept once
+    public static LongBPlusTree bulkLoad(long[] sorted) {
+        return bulkLoad(Arrays.stream(sorted).iterator(), DEFAULT_FANOUT);
+    }
+
+    public static LongBPlusTree bulkLoad(PrimitiveIterator.OfLong sorted) {
+        return bulkLoad(sorted, DEFAULT_FANOUT);
+    }
+
+    public static LongBPlusTree bulkLoad(PrimitiveIterator.OfLong sorted, int fanout) {
+        LongBPlusTree tree = new LongBPlusTree(fanout);
+        tree.load(sorted);
+        return tree;
+    }
+
+    private void load(PrimitiveIterator.OfLong sorted) {
+        List<Node> level = new ArrayList<>();
+        // smallest key under each node of the level, the separators for the level above
+        LongDynamicArray mins = new LongDynamicArray();
+
+        Node leaf = null;
+        long prev = 0;
+        while (sorted.hasNext()) {
+            long elem = sorted.nextLong();
+            // one compare against the previous key only, to reject unsorted input
+            if (leaf != null) {
+                if (elem < prev) throw new IllegalArgumentException("Input is not sorted");
+                if (elem == prev) continue;
+            }
+            if (leaf == null || leaf.count == fanout) {
+                Node nextLeaf = new Node(true);
+                if (leaf != null) leaf.next = nextLeaf;
+                leaf = nextLeaf;
+                level.add(leaf);
+                mins.addLong(elem);
+            }
+            leaf.keys[leaf.count++] = elem;
+            prev = elem;
+            size++;
+        }
+        if (level.isEmpty()) return;
+        balanceLastLeaf(level, mins);
+
+        // build internal levels until a single node is left
+        while (level.size() > 1) {
+            List<Node> parents = new ArrayList<>();
+            LongDynamicArray parentMins = new LongDynamicArray();
+            Node parent = null;
+            for (int i = 0; i < level.size(); i++) {
+                if (parent == null || parent.count == fanout) {
+                    parent = new Node(false);
+                    parents.add(parent);
+                    parentMins.addLong(mins.getLong(i));
+                } else {
+                    parent.keys[parent.count - 1] = mins.getLong(i);
+                }
+                parent.children[parent.count++] = level.get(i);
+            }
+            balanceLastInternal(parents, parentMins);
+            level = parents;
+            mins = parentMins;
+        }
+        rootNode = level.get(0);
+    }
+
+    // the last leaf gets whatever is left over - even it out with the one before
+    private void balanceLastLeaf(List<Node> leaves, LongDynamicArray mins) {
+        int n = leaves.size();
+        Node last = leaves.get(n - 1);
+        if (n == 1 || last.count >= minLeafKeys) return;
+        Node prev = leaves.get(n - 2);
+        int move = (prev.count + last.count) / 2 - last.count;
+        System.arraycopy(last.keys, 0, last.keys, move, last.count);
+        System.arraycopy(prev.keys, prev.count - move, last.keys, 0, move);
+        prev.count -= move;
+        last.count += move;
+        mins.setLong(n - 1, last.key(0));
+    }
+
+    // same for the last internal node of a level - the separator between the
+    // two moves along with the children
+    private void balanceLastInternal(List<Node> nodes, LongDynamicArray mins) {
+        int n = nodes.size();
+        Node last = nodes.get(n - 1);
+        if (n == 1 || last.count >= minChildren) return;
+        Node prev = nodes.get(n - 2);
+        int move = (prev.count + last.count) / 2 - last.count;
+        // the separator between prev and last is the smallest key under last
+        long separator = smallestKey(last);
+        System.arraycopy(last.children, 0, last.children, move, last.count);
+        System.arraycopy(last.keys, 0, last.keys, move, last.count - 1);
+        System.arraycopy(prev.children, prev.count - move, last.children, 0, move);
+        last.keys[move - 1] = separator;
+        System.arraycopy(prev.keys, prev.count - move, last.keys, 0, move - 1);
+        Arrays.fill(prev.children, prev.count - move, prev.count, null);
+        prev.count -= move;
+        last.count += move;
+        mins.setLong(n - 1, smallestKey(last));
+    }
+
+    private long smallestKey(Node node) {
+        while (!node.isLeaf()) node = node.children[0];
+        return node.key(0);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        rootNode = new Node(true);
+        size = 0;
+    }
+
+    // number of levels, leaves included
+    public int height() {
+        int height = 1;
+        for (Node node = rootNode; !node.isLeaf(); node = node.children[0]) height++;
+        return height;
+    }
+
+    // first index in node.keys[0, n) whose key is greater than elem
+    private int upperBound(Node node, int n, long elem) {
+        int lo = 0, hi = n;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (node.key(mid) <= elem) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // first index in leaf.keys[0, count) whose key is not less than elem
+    private int lowerBound(Node leaf, long elem) {
+        int lo = 0, hi = leaf.count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (leaf.key(mid) < elem) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // the child of an internal node whose key range holds elem
+    private int childIndex(Node node, long elem) {
+        return upperBound(node, node.count - 1, elem);
+    }
+
+    private Node findLeaf(long elem) {
+        Node node = rootNode;
+        while (!node.isLeaf()) node = node.children[childIndex(node, elem)];
+        return node;
+    }
+
+    public boolean contains(long elem) {
+        Node leaf = findLeaf(elem);
+        int i = lowerBound(leaf, elem);
+        return i < leaf.count && leaf.key(i) == elem;
+    }
+
+    public long first() {
+        if (isEmpty()) throw new NoSuchElementException();
+        Node node = rootNode;
+        while (!node.isLeaf()) node = node.children[0];
+        return node.key(0);
+    }
+
+    public long last() {
+        if (isEmpty()) throw new NoSuchElementException();
+        Node node = rootNode;
+        while (!node.isLeaf()) node = node.children[node.count - 1];
+        return node.key(node.count - 1);
+    }
+
+    public boolean add(long elem) {
+        // the leaf insert bumps size, so no separate contains() pass is needed
+        int before = size;
+        Node sibling = add(rootNode, elem);
+        if (size == before) return false;
+        if (sibling != null) {
+            // the root split - grow a new root above the two halves
+            Node root = new Node(false);
+            root.children[0] = rootNode;
+            root.children[1] = sibling;
+            root.keys[0] = smallestKey(sibling);
+            root.count = 2;
+            rootNode = root;
+        }
+        return true;
+    }
+
+    // adds elem below node in a single pass down - returns the new right
+    // sibling if node had to split, null if it did not
+    private Node add(Node node, long elem) {
+        if (node.isLeaf()) {
+            int i = lowerBound(node, elem);
+            if (i < node.count && node.key(i) == elem) return null;
+            System.arraycopy(node.keys, i, node.keys, i + 1, node.count - i);
+            node.keys[i] = elem;
+            node.count++;
+            size++;
+            return node.count > fanout ? splitLeaf(node) : null;
+        }
+
+        int i = childIndex(node, elem);
+        Node sibling = add(node.children[i], elem);
+        if (sibling == null) return null;
+
+        // link the new child in right after the one that split
+        System.arraycopy(node.children, i + 1, node.children, i + 2, node.count - i - 1);
+        System.arraycopy(node.keys, i, node.keys, i + 1, node.count - 1 - i);
+        node.children[i + 1] = sibling;
+        node.keys[i] = smallestKey(sibling);
+        node.count++;
+        return node.count > fanout ? splitInternal(node) : null;
+    }
+
+    private Node splitLeaf(Node leaf) {
+        Node right = new Node(true);
+        int keep = leaf.count / 2;
+        right.count = leaf.count - keep;
+        System.arraycopy(leaf.keys, keep, right.keys, 0, right.count);
+        leaf.count = keep;
+        right.next = leaf.next;
+        leaf.next = right;
+        return right;
+    }
+
+    // the separator between the two halves moves up into the parent, which
+    // reads it back with smallestKey(right)
+    private Node splitInternal(Node node) {
+        Node right = new Node(false);
+        int keep = node.count / 2;
+        right.count = node.count - keep;
+        System.arraycopy(node.children, keep, right.children, 0, right.count);
+        System.arraycopy(node.keys, keep, right.keys, 0, right.count - 1);
+        Arrays.fill(node.children, keep, node.count, null);
+        node.count = keep;
+        return right;
+    }
+
+    public boolean remove(long elem) {
+        if (!remove(rootNode, elem)) return false;
+        // the root lost its second to last child - its only child becomes the root
+        if (!rootNode.isLeaf() && rootNode.count == 1) rootNode = rootNode.children[0];
+        size--;
+        return true;
+    }
+
+    // removes elem below node in a single pass down, fixing underfull children
+    // on the way back up
+    private boolean remove(Node node, long elem) {
+        if (node.isLeaf()) {
+            int i = lowerBound(node, elem);
+            if (i == node.count || node.key(i) != elem) return false;
+            System.arraycopy(node.keys, i + 1, node.keys, i, node.count - i - 1);
+            node.count--;
+            return true;
+        }
+
+        int i = childIndex(node, elem);
+        if (!remove(node.children[i], elem)) return false;
+        Node child = node.children[i];
+        if (child.count < (child.isLeaf() ? minLeafKeys : minChildren)) rebalance(node, i);
+        return true;
+    }
+
+    // child i of parent is one under the minimum - borrow from a sibling that
+    // can spare one, otherwise merge it with a sibling
+    private void rebalance(Node parent, int i) {
+        Node child = parent.children[i];
+        Node left = i > 0 ? parent.children[i - 1] : null;
+        Node right = i + 1 < parent.count ? parent.children[i + 1] : null;
+        int min = child.isLeaf() ? minLeafKeys : minChildren;
+
+        if (left != null && left.count > min) {
+            borrowFromLeft(parent, i, left, child);
+        } else if (right != null && right.count > min) {
+            borrowFromRight(parent, i, child, right);
+        } else if (left != null) {
+            merge(parent, i - 1, left, child);
+        } else {
+            merge(parent, i, child, right);
+        }
+    }
+
+    private void borrowFromLeft(Node parent, int i, Node left, Node child) {
+        if (child.isLeaf()) {
+            System.arraycopy(child.keys, 0, child.keys, 1, child.count);
+            child.keys[0] = left.keys[left.count - 1];
+            left.count--;
+            child.count++;
+            parent.keys[i - 1] = child.keys[0];
+        } else {
+            // rotate through the parent: its separator comes down in front of
+            // child and left's last separator goes up
+            System.arraycopy(child.children, 0, child.children, 1, child.count);
+            System.arraycopy(child.keys, 0, child.keys, 1, child.count - 1);
+            child.children[0] = left.children[left.count - 1];
+            child.keys[0] = parent.keys[i - 1];
+            parent.keys[i - 1] = left.keys[left.count - 2];
+            left.children[left.count - 1] = null;
+            left.count--;
+            child.count++;
+        }
+    }
+
+    private void borrowFromRight(Node parent, int i, Node child, Node right) {
+        if (child.isLeaf()) {
+            child.keys[child.count++] = right.keys[0];
+            System.arraycopy(right.keys, 1, right.keys, 0, right.count - 1);
+            right.count--;
+            parent.keys[i] = right.keys[0];
+        } else {
+            child.children[child.count] = right.children[0];
+            child.keys[child.count - 1] = parent.keys[i];
+            child.count++;
+            parent.keys[i] = right.keys[0];
+            System.arraycopy(right.children, 1, right.children, 0, right.count - 1);
+            System.arraycopy(right.keys, 1, right.keys, 0, right.count - 2);
+            right.children[right.count - 1] = null;
+            right.count--;
+        }
+    }
+
+    // appends children[i + 1] (right) to children[i] (left) and drops right and
+    // the separator between them from the parent
+    private void merge(Node parent, int i, Node left, Node right) {
+        if (left.isLeaf()) {
+            System.arraycopy(right.keys, 0, left.keys, left.count, right.count);
+            left.count += right.count;
+            left.next = right.next;
+        } else {
+            // the separator comes down between the two halves
+            left.keys[left.count - 1] = parent.keys[i];
+            System.arraycopy(right.keys, 0, left.keys, left.count, right.count - 1);
+            System.arraycopy(right.children, 0, left.children, left.count, right.count);
+            left.count += right.count;
+        }
+        System.arraycopy(parent.children, i + 2, parent.children, i + 1, parent.count - i - 2);
+        System.arraycopy(parent.keys, i + 1, parent.keys, i, parent.count - i - 2);
+        parent.count--;
+        parent.children[parent.count] = null;
+    }
+
+    // ascending, reading the linked leaves left to right
+    public PrimitiveIterator.OfLong iterator() {
+        Node leaf = rootNode;
+        while (!leaf.isLeaf()) leaf = leaf.children[0];
+        return new LeafIterator(leaf, 0, Long.MAX_VALUE, false);
+    }
+
+    // ascending iterator over the keys in [lo, hi) - lo inclusive, hi exclusive
+    // like BinarySearchTree.subSet
+    public PrimitiveIterator.OfLong subSet(long lo, long hi) {
+        Node leaf = findLeaf(lo);
+        return new LeafIterator(leaf, lowerBound(leaf, lo), hi, true);
+    }
+
+    private class LeafIterator implements PrimitiveIterator.OfLong {
+        private final int expectedNodeCount = size;
+        private final long hi;
+        // false for a full scan, where every long is below the (missing) bound
+        private final boolean bounded;
+        private Node leaf;
+        private int index;
+
+        LeafIterator(Node leaf, int index, long hi, boolean bounded) {
+            this.leaf = leaf;
+            this.index = index;
+            this.hi = hi;
+            this.bounded = bounded;
+            skipExhaustedLeaves();
+        }
+
+        private void skipExhaustedLeaves() {
+            while (leaf != null && index == leaf.count) {
+                leaf = leaf.next;
+                index = 0;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (expectedNodeCount != size) throw new ConcurrentModificationException();
+            return leaf != null && (!bounded || leaf.key(index) < hi);
+        }
+
+        @Override
+        public long nextLong() {
+            if (!hasNext()) throw new NoSuchElementException();
+            long elem = leaf.key(index++);
+            skipExhaustedLeaves();
+            return elem;
+        }
+    }
+
+    // test to check the key order, node occupancy, that all leaves are at the
+    // same depth and that the leaf links visit every key in order
+    public boolean isBPlusTree() {
+        int[] leafDepth = {-1};
+        if (!isValid(rootNode, null, null, 0, leafDepth)) return false;
+
+        int count = 0;
+        long prev = 0;
+        PrimitiveIterator.OfLong it = iterator();
+        while (it.hasNext()) {
+            long elem = it.nextLong();
+            if (count > 0 && prev >= elem) return false;
+            prev = elem;
+            count++;
+        }
+        return count == size;
+    }
+
+    // null bounds are open
+    private boolean isValid(Node node, Long lo, Long hi, int depth, int[] leafDepth) {
+        boolean isRoot = node == rootNode;
+        if (node.isLeaf()) {
+            if (!isRoot && node.count < minLeafKeys) return false;
+            if (leafDepth[0] == -1) leafDepth[0] = depth;
+            if (leafDepth[0] != depth) return false;
+            for (int i = 0; i < node.count; i++) {
+                if (i > 0 && node.key(i - 1) >= node.key(i)) return false;
+                if (lo != null && node.key(i) < lo) return false;
+                if (hi != null && node.key(i) >= hi) return false;
+            }
+            return true;
+        }
+        if (node.count < (isRoot ? 2 : minChildren) || node.count > fanout) return false;
+        for (int i = 0; i < node.count; i++) {
+            Long childLo = i == 0 ? lo : Long.valueOf(node.key(i - 1));
+            Long childHi = i == node.count - 1 ? hi : Long.valueOf(node.key(i));
+            if (!isValid(node.children[i], childLo, childHi, depth + 1, leafDepth)) return false;
+        }
+        return true;
+    }
+}
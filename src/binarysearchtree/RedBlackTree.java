@@ -0,0 +1,20 @@
+package binarysearchtree;
+
+// self balancing BinarySearchTree - a red-black tree keeps its height under
+// 2 log2(n + 1), so sorted input (e.g. loading a sorted export) no longer
+// degenerates into a linked list
+// the balancing itself lives in BinarySearchTree (new BinarySearchTree<>(true)),
+// this only fixes the mode, so it has the same iterators, Spliterator, order
+// statistics and range queries
+
+public class RedBlackTree<T extends Comparable<T>> extends BinarySearchTree<T> {
+    public RedBlackTree() {
+        super(true);
+    }
+
+    // test to check the search order, that no red node has a red child and
+    // that every path from the root to a leaf has the same number of black nodes
+    public boolean isRedBlackTree() {
+        return hasRedBlackInvariants();
+    }
+}
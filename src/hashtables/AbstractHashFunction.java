@@ -0,0 +1,37 @@
+package hashtables;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+// routes every input type through a single generic hash over a ByteAccess
+abstract class AbstractHashFunction implements HashFunction {
+    final long seed;
+
+    AbstractHashFunction(long seed) {
+        this.seed = seed;
+    }
+
+    // hash length bytes of input starting at offset
+    abstract <T> long hash(T input, ByteAccess<T> access, long offset, long length);
+
+    @Override
+    public long hashChars(CharSequence key) {
+        return hash(key, ByteAccess.CHAR_SEQUENCE, 0, 2L * key.length());
+    }
+
+    @Override
+    public long hashBytes(byte[] key, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, key.length);
+        return hash(key, ByteAccess.BYTE_ARRAY, offset, length);
+    }
+
+    @Override
+    public long hashBytes(ByteBuffer key) {
+        return hash(key, ByteAccess.BYTE_BUFFER, key.position(), key.remaining());
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(seed=" + seed + ")";
+    }
+}
@@ -0,0 +1,89 @@
+package hashtables;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+// reads little endian words straight out of the different input types,
+// so one hash implementation serves all of them without copying to a byte[]
+abstract class ByteAccess<T> {
+    abstract long getLong(T input, long offset);
+
+    // unsigned 32 bit value
+    abstract long getInt(T input, long offset);
+
+    // unsigned 8 bit value
+    abstract int getByte(T input, long offset);
+
+    static final ByteAccess<byte[]> BYTE_ARRAY = new ByteAccess<byte[]>() {
+        private final VarHandle longs = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+        private final VarHandle ints = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+        @Override
+        long getLong(byte[] input, long offset) {
+            return (long) longs.get(input, (int) offset);
+        }
+
+        @Override
+        long getInt(byte[] input, long offset) {
+            return Integer.toUnsignedLong((int) ints.get(input, (int) offset));
+        }
+
+        @Override
+        int getByte(byte[] input, long offset) {
+            return input[(int) offset] & 0xFF;
+        }
+    };
+
+    // absolute reads, so the buffer position is never touched
+    static final ByteAccess<ByteBuffer> BYTE_BUFFER = new ByteAccess<ByteBuffer>() {
+        @Override
+        long getLong(ByteBuffer input, long offset) {
+            long value = input.getLong((int) offset);
+            return input.order() == ByteOrder.LITTLE_ENDIAN ? value : Long.reverseBytes(value);
+        }
+
+        @Override
+        long getInt(ByteBuffer input, long offset) {
+            int value = input.getInt((int) offset);
+            return Integer.toUnsignedLong(input.order() == ByteOrder.LITTLE_ENDIAN ? value : Integer.reverseBytes(value));
+        }
+
+        @Override
+        int getByte(ByteBuffer input, long offset) {
+            return input.get((int) offset) & 0xFF;
+        }
+    };
+
+    // each char contributes its two bytes, low byte first
+    static final ByteAccess<CharSequence> CHAR_SEQUENCE = new ByteAccess<CharSequence>() {
+        @Override
+        long getLong(CharSequence input, long offset) {
+            if ((offset & 1) != 0) return getInt(input, offset) | getInt(input, offset + 4) << 32;
+            int i = (int) (offset >>> 1);
+            return input.charAt(i)
+                    | (long) input.charAt(i + 1) << 16
+                    | (long) input.charAt(i + 2) << 32
+                    | (long) input.charAt(i + 3) << 48;
+        }
+
+        @Override
+        long getInt(CharSequence input, long offset) {
+            if ((offset & 1) != 0) {
+                return getByte(input, offset)
+                        | (long) getByte(input, offset + 1) << 8
+                        | (long) getByte(input, offset + 2) << 16
+                        | (long) getByte(input, offset + 3) << 24;
+            }
+            int i = (int) (offset >>> 1);
+            return input.charAt(i) | (long) input.charAt(i + 1) << 16;
+        }
+
+        @Override
+        int getByte(CharSequence input, long offset) {
+            char c = input.charAt((int) (offset >>> 1));
+            return (offset & 1) == 0 ? c & 0xFF : c >>> 8;
+        }
+    };
+}
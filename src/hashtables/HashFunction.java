@@ -1,14 +1,32 @@
 package hashtables;
 
-public class HashFunction {
-
-    // simple arbitrary hash function
-    public int hashFunction(String key) {
-        char[] keyArr = key.toCharArray();
-        int val = 0;
-        for ( char letter : keyArr ) {
-            val += letter;
-        }
-        return val;
+import java.nio.ByteBuffer;
+
+// pluggable 64 bit hash function
+// implementations read their input in place (no toCharArray or getBytes copies)
+// and take a seed in their constructor, see Murmur3HashFunction,
+// XxHash64HashFunction and WyHashFunction
+
+// a CharSequence hashes as its UTF-16 little endian bytes, so a String and the
+// byte[] from getBytes(UTF_16LE) give the same hash
+// hashLong(x) is the hash of the 8 little endian bytes of x
+public interface HashFunction {
+    long hashChars(CharSequence key);
+
+    long hashBytes(byte[] key, int offset, int length);
+
+    default long hashBytes(byte[] key) {
+        return hashBytes(key, 0, key.length);
+    }
+
+    // hashes the bytes between position and limit, the position is left unchanged
+    long hashBytes(ByteBuffer key);
+
+    long hashLong(long key);
+
+    // kept from the original character sum api, now backed by the real hash
+    default int hashFunction(String key) {
+        long hash = hashChars(key);
+        return (int) (hash ^ (hash >>> 32));
     }
 }
@@ -0,0 +1,192 @@
+package hashtables;
+
+// open addressing map from int to int with no boxing
+// same layout as OpenAddressingHashMap (linear probing, power of 2 capacity,
+// backward shift deletion), but keys and values live in two int[] arrays
+
+// key 0 marks a free slot, so an actual 0 key is stored on the side
+
+import java.util.Arrays;
+
+public class IntIntHashMap {
+    private static final int FREE = 0;
+
+    private int[] keys;
+    private int[] values;
+    private int mask;
+    private int size = 0; // entries in the table, excluding the 0 key
+    private int threshold;
+    private final float loadFactor;
+    // value returned by get/put/remove when the key is absent
+    private final int missingValue;
+
+    private boolean hasZeroKey = false;
+    private int zeroValue;
+
+    public IntIntHashMap() {
+        this(OpenAddressing.DEFAULT_EXPECTED_SIZE);
+    }
+
+    public IntIntHashMap(int expectedSize) {
+        this(expectedSize, OpenAddressing.DEFAULT_LOAD_FACTOR, 0);
+    }
+
+    public IntIntHashMap(int expectedSize, float loadFactor, int missingValue) {
+        OpenAddressing.checkLoadFactor(loadFactor);
+        this.loadFactor = loadFactor;
+        this.missingValue = missingValue;
+        allocate(OpenAddressing.capacityFor(expectedSize, loadFactor));
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        threshold = OpenAddressing.thresholdFor(capacity, loadFactor);
+    }
+
+    public int size() {
+        return hasZeroKey ? size + 1 : size;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, FREE);
+        size = 0;
+        hasZeroKey = false;
+    }
+
+    private int slot(int key) {
+        return OpenAddressing.mix(key) & mask;
+    }
+
+    // index of key in the table, or -1 if absent
+    private int indexOf(int key) {
+        for (int i = slot(key); keys[i] != FREE; i = (i + 1) & mask) {
+            if (keys[i] == key) return i;
+        }
+        return -1;
+    }
+
+    public boolean containsKey(int key) {
+        if (key == FREE) return hasZeroKey;
+        return indexOf(key) != -1;
+    }
+
+    public int get(int key) {
+        return getOrDefault(key, missingValue);
+    }
+
+    public int getOrDefault(int key, int defaultValue) {
+        if (key == FREE) return hasZeroKey ? zeroValue : defaultValue;
+        int i = indexOf(key);
+        return i == -1 ? defaultValue : values[i];
+    }
+
+    // returns the previous value, or the missing value if there was none
+    public int put(int key, int value) {
+        if (key == FREE) {
+            int old = hasZeroKey ? zeroValue : missingValue;
+            hasZeroKey = true;
+            zeroValue = value;
+            return old;
+        }
+        int i = slot(key);
+        for (; keys[i] != FREE; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                int old = values[i];
+                values[i] = value;
+                return old;
+            }
+        }
+        OpenAddressing.checkCanInsert(size, threshold, keys.length);
+        keys[i] = key;
+        values[i] = value;
+        if (++size > threshold) resize();
+        return missingValue;
+    }
+
+    // adds delta to the value of key (starting from the missing value) and returns the new value
+    public int addTo(int key, int delta) {
+        if (key == FREE) {
+            zeroValue = (hasZeroKey ? zeroValue : missingValue) + delta;
+            hasZeroKey = true;
+            return zeroValue;
+        }
+        int i = slot(key);
+        for (; keys[i] != FREE; i = (i + 1) & mask) {
+            if (keys[i] == key) return values[i] += delta;
+        }
+        OpenAddressing.checkCanInsert(size, threshold, keys.length);
+        keys[i] = key;
+        int value = values[i] = missingValue + delta;
+        if (++size > threshold) resize();
+        return value;
+    }
+
+    // returns the removed value, or the missing value if the key was absent
+    public int remove(int key) {
+        if (key == FREE) {
+            if (!hasZeroKey) return missingValue;
+            hasZeroKey = false;
+            return zeroValue;
+        }
+        int i = indexOf(key);
+        if (i == -1) return missingValue;
+        int old = values[i];
+        shiftBack(i);
+        size--;
+        return old;
+    }
+
+    // close the gap at index gap by moving later entries of the same probe run into it
+    private void shiftBack(int gap) {
+        for (int i = (gap + 1) & mask; keys[i] != FREE; i = (i + 1) & mask) {
+            int home = slot(keys[i]);
+            // the entry may move back only if the gap lies between its home slot and i
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        keys[gap] = FREE;
+    }
+
+    private void resize() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] == FREE) continue;
+            int i = slot(oldKeys[j]);
+            while (keys[i] != FREE) i = (i + 1) & mask;
+            keys[i] = oldKeys[j];
+            values[i] = oldValues[j];
+        }
+    }
+
+    public interface IntIntConsumer {
+        void accept(int key, int value);
+    }
+
+    public void forEach(IntIntConsumer action) {
+        if (hasZeroKey) action.accept(FREE, zeroValue);
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE) action.accept(keys[i], values[i]);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        forEach((k, v) -> {
+            if (sb.length() > 1) sb.append(", ");
+            sb.append(k).append('=').append(v);
+        });
+        return sb.append('}').toString();
+    }
+}
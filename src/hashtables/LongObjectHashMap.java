@@ -0,0 +1,179 @@
+package hashtables;
+
+// open addressing map from long to objects with no boxing of the keys
+// same layout as OpenAddressingHashMap (linear probing, power of 2 capacity,
+// backward shift deletion), with the keys in a long[]
+
+// key 0 marks a free slot, so an actual 0 key is stored on the side
+
+import java.util.Arrays;
+
+public class LongObjectHashMap<V> {
+    private static final long FREE = 0L;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size = 0; // entries in the table, excluding the 0 key
+    private int threshold;
+    private final float loadFactor;
+
+    private boolean hasZeroKey = false;
+    private V zeroValue;
+
+    public LongObjectHashMap() {
+        this(OpenAddressing.DEFAULT_EXPECTED_SIZE);
+    }
+
+    public LongObjectHashMap(int expectedSize) {
+        this(expectedSize, OpenAddressing.DEFAULT_LOAD_FACTOR);
+    }
+
+    public LongObjectHashMap(int expectedSize, float loadFactor) {
+        OpenAddressing.checkLoadFactor(loadFactor);
+        this.loadFactor = loadFactor;
+        allocate(OpenAddressing.capacityFor(expectedSize, loadFactor));
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        threshold = OpenAddressing.thresholdFor(capacity, loadFactor);
+    }
+
+    public int size() {
+        return hasZeroKey ? size + 1 : size;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, FREE);
+        Arrays.fill(values, null);
+        size = 0;
+        hasZeroKey = false;
+        zeroValue = null;
+    }
+
+    private int slot(long key) {
+        return OpenAddressing.mix(key) & mask;
+    }
+
+    // index of key in the table, or -1 if absent
+    private int indexOf(long key) {
+        for (int i = slot(key); keys[i] != FREE; i = (i + 1) & mask) {
+            if (keys[i] == key) return i;
+        }
+        return -1;
+    }
+
+    public boolean containsKey(long key) {
+        if (key == FREE) return hasZeroKey;
+        return indexOf(key) != -1;
+    }
+
+    public V get(long key) {
+        return getOrDefault(key, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(long key, V defaultValue) {
+        if (key == FREE) return hasZeroKey ? zeroValue : defaultValue;
+        int i = indexOf(key);
+        return i == -1 ? defaultValue : (V) values[i];
+    }
+
+    // returns the previous value, or null if there was none
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (key == FREE) {
+            V old = zeroValue;
+            hasZeroKey = true;
+            zeroValue = value;
+            return old;
+        }
+        int i = slot(key);
+        for (; keys[i] != FREE; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                V old = (V) values[i];
+                values[i] = value;
+                return old;
+            }
+        }
+        OpenAddressing.checkCanInsert(size, threshold, keys.length);
+        keys[i] = key;
+        values[i] = value;
+        if (++size > threshold) resize();
+        return null;
+    }
+
+    // returns the removed value, or null if the key was absent
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        if (key == FREE) {
+            V old = zeroValue;
+            hasZeroKey = false;
+            zeroValue = null;
+            return old;
+        }
+        int i = indexOf(key);
+        if (i == -1) return null;
+        V old = (V) values[i];
+        shiftBack(i);
+        size--;
+        return old;
+    }
+
+    // close the gap at index gap by moving later entries of the same probe run into it
+    private void shiftBack(int gap) {
+        for (int i = (gap + 1) & mask; keys[i] != FREE; i = (i + 1) & mask) {
+            int home = slot(keys[i]);
+            // the entry may move back only if the gap lies between its home slot and i
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        keys[gap] = FREE;
+        values[gap] = null;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] == FREE) continue;
+            int i = slot(oldKeys[j]);
+            while (keys[i] != FREE) i = (i + 1) & mask;
+            keys[i] = oldKeys[j];
+            values[i] = oldValues[j];
+        }
+    }
+
+    public interface LongObjectConsumer<V> {
+        void accept(long key, V value);
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(LongObjectConsumer<? super V> action) {
+        if (hasZeroKey) action.accept(FREE, zeroValue);
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE) action.accept(keys[i], (V) values[i]);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        forEach((k, v) -> {
+            if (sb.length() > 1) sb.append(", ");
+            sb.append(k).append('=').append(v);
+        });
+        return sb.append('}').toString();
+    }
+}
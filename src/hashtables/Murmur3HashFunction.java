@@ -0,0 +1,86 @@
+package hashtables;
+
+// MurmurHash3 x64 128 bit variant, returning the first 64 bits of the result
+// (the same value as Guava's murmur3_128(seed).hashBytes(..).asLong())
+public final class Murmur3HashFunction extends AbstractHashFunction {
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    public Murmur3HashFunction() {
+        this(0);
+    }
+
+    // the reference implementation takes a 32 bit seed
+    public Murmur3HashFunction(int seed) {
+        super(Integer.toUnsignedLong(seed));
+    }
+
+    @Override
+    <T> long hash(T input, ByteAccess<T> access, long offset, long length) {
+        long h1 = seed;
+        long h2 = seed;
+
+        // body - 16 byte blocks
+        long end = offset + (length & ~15L);
+        for (long i = offset; i < end; i += 16) {
+            h1 ^= mixK1(access.getLong(input, i));
+            h1 = Long.rotateLeft(h1, 27);
+            h1 += h2;
+            h1 = h1 * 5 + 0x52dce729;
+
+            h2 ^= mixK2(access.getLong(input, i + 8));
+            h2 = Long.rotateLeft(h2, 31);
+            h2 += h1;
+            h2 = h2 * 5 + 0x38495ab5;
+        }
+
+        // tail - up to 15 remaining bytes
+        long k1 = 0;
+        long k2 = 0;
+        int rem = (int) (length & 15);
+        for (int j = rem - 1; j >= 8; j--) k2 |= (long) access.getByte(input, end + j) << ((j - 8) * 8);
+        for (int j = Math.min(rem, 8) - 1; j >= 0; j--) k1 |= (long) access.getByte(input, end + j) << (j * 8);
+        if (rem > 8) h2 ^= mixK2(k2);
+        if (rem > 0) h1 ^= mixK1(k1);
+
+        return finish(h1, h2, length);
+    }
+
+    // same as hashing the 8 little endian bytes of key, without the byte loop
+    @Override
+    public long hashLong(long key) {
+        long h1 = seed ^ mixK1(key);
+        return finish(h1, seed, 8);
+    }
+
+    private static long finish(long h1, long h2, long length) {
+        h1 ^= length;
+        h2 ^= length;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix64(h1);
+        h2 = fmix64(h2);
+        return h1 + h2;
+    }
+
+    private static long mixK1(long k1) {
+        k1 *= C1;
+        k1 = Long.rotateLeft(k1, 31);
+        return k1 * C2;
+    }
+
+    private static long mixK2(long k2) {
+        k2 *= C2;
+        k2 = Long.rotateLeft(k2, 33);
+        return k2 * C1;
+    }
+
+    static long fmix64(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
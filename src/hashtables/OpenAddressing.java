@@ -0,0 +1,49 @@
+package hashtables;
+
+// shared helpers for the open addressing tables in this package
+final class OpenAddressing {
+    static final float DEFAULT_LOAD_FACTOR = 0.75f;
+    static final int DEFAULT_EXPECTED_SIZE = 16;
+    static final int MAX_CAPACITY = 1 << 30;
+
+    private OpenAddressing() {
+    }
+
+    // scrambles the bits so that keys which differ only in their high bits
+    // still land in different slots once masked to a power of 2 table
+    static int mix(int x) {
+        int h = x * 0x9E3779B9; // 2^32 / golden ratio
+        return h ^ (h >>> 16);
+    }
+
+    static int mix(long x) {
+        long h = x * 0x9E3779B97F4A7C15L;
+        h ^= (h >>> 32);
+        return (int) (h ^ (h >>> 16));
+    }
+
+    static void checkLoadFactor(float loadFactor) {
+        if (!(loadFactor > 0 && loadFactor < 1)) {
+            throw new IllegalArgumentException("Invalid Load Factor - must be between 0 and 1 exclusive");
+        }
+    }
+
+    // smallest power of 2 capacity that holds expectedSize entries under loadFactor
+    static int capacityFor(int expectedSize, float loadFactor) {
+        if (expectedSize < 0) throw new IllegalArgumentException("Invalid Size - cannot be less than 0");
+        long needed = (long) Math.ceil(expectedSize / (double) loadFactor) + 1;
+        if (needed > MAX_CAPACITY) return MAX_CAPACITY;
+        return Math.max(2, Integer.highestOneBit((int) needed - 1) << 1);
+    }
+
+    // call before writing a new entry - a table at MAX_CAPACITY cannot resize,
+    // so the insert has to fail while the map is still unchanged
+    static void checkCanInsert(int size, int threshold, int capacity) {
+        if (size + 1 > threshold && capacity == MAX_CAPACITY) throw new IllegalStateException("Hash map is full");
+    }
+
+    static int thresholdFor(int capacity, float loadFactor) {
+        // always leave at least one free slot so probing terminates
+        return Math.min(capacity - 1, (int) Math.ceil(capacity * loadFactor));
+    }
+}
@@ -0,0 +1,158 @@
+package hashtables;
+
+// open addressing hash map with linear probing
+// keys and values sit in two flat arrays instead of one Node object per entry,
+// and the capacity is a power of 2 so the slot is a mask instead of a modulo
+
+// deletion uses backward shifting: entries after the removed slot are moved
+// back into the gap, so there are no tombstones and probe sequences never
+// get longer because of earlier removals
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+public class OpenAddressingHashMap<K, V> {
+    private Object[] keys;
+    private Object[] values;
+    private int mask;
+    private int size = 0;
+    private int threshold;
+    private final float loadFactor;
+
+    public OpenAddressingHashMap() {
+        this(OpenAddressing.DEFAULT_EXPECTED_SIZE);
+    }
+
+    public OpenAddressingHashMap(int expectedSize) {
+        this(expectedSize, OpenAddressing.DEFAULT_LOAD_FACTOR);
+    }
+
+    public OpenAddressingHashMap(int expectedSize, float loadFactor) {
+        OpenAddressing.checkLoadFactor(loadFactor);
+        this.loadFactor = loadFactor;
+        allocate(OpenAddressing.capacityFor(expectedSize, loadFactor));
+    }
+
+    private void allocate(int capacity) {
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        threshold = OpenAddressing.thresholdFor(capacity, loadFactor);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, null);
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    private int slot(Object key) {
+        return OpenAddressing.mix(key.hashCode()) & mask;
+    }
+
+    // index of key in the table, or -1 if absent
+    private int indexOf(Object key) {
+        if (key == null) return -1;
+        for (int i = slot(key); keys[i] != null; i = (i + 1) & mask) {
+            if (key.equals(keys[i])) return i;
+        }
+        return -1;
+    }
+
+    public boolean containsKey(Object key) {
+        return indexOf(key) != -1;
+    }
+
+    public V get(Object key) {
+        return getOrDefault(key, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(Object key, V defaultValue) {
+        int i = indexOf(key);
+        return i == -1 ? defaultValue : (V) values[i];
+    }
+
+    // returns the previous value, or null if there was none
+    @SuppressWarnings("unchecked")
+    public V put(K key, V value) {
+        if (key == null) throw new IllegalArgumentException();
+        int i = slot(key);
+        for (; keys[i] != null; i = (i + 1) & mask) {
+            if (key.equals(keys[i])) {
+                V old = (V) values[i];
+                values[i] = value;
+                return old;
+            }
+        }
+        OpenAddressing.checkCanInsert(size, threshold, keys.length);
+        keys[i] = key;
+        values[i] = value;
+        if (++size > threshold) resize();
+        return null;
+    }
+
+    // returns the removed value, or null if the key was absent
+    @SuppressWarnings("unchecked")
+    public V remove(Object key) {
+        int i = indexOf(key);
+        if (i == -1) return null;
+        V old = (V) values[i];
+        shiftBack(i);
+        size--;
+        return old;
+    }
+
+    // close the gap at index gap by moving later entries of the same probe run into it
+    private void shiftBack(int gap) {
+        for (int i = (gap + 1) & mask; keys[i] != null; i = (i + 1) & mask) {
+            int home = slot(keys[i]);
+            // the entry may move back only if the gap lies between its home slot and i
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        keys[gap] = null;
+        values[gap] = null;
+    }
+
+    private void resize() {
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] == null) continue;
+            int i = slot(oldKeys[j]);
+            while (keys[i] != null) i = (i + 1) & mask;
+            keys[i] = oldKeys[j];
+            values[i] = oldValues[j];
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) action.accept((K) keys[i], (V) values[i]);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        forEach((k, v) -> {
+            if (sb.length() > 1) sb.append(", ");
+            sb.append(k).append('=').append(v);
+        });
+        return sb.append('}').toString();
+    }
+}
@@ -0,0 +1,305 @@
+package hashtables;
+
+// thread safe hash map split into independently locked stripes (segments)
+// - reads never lock: they read the stripe's volatile table and walk nodes whose
+//   links and values are volatile, so they always see a consistent chain
+// - writes lock only the stripe the key hashes to, so writers to different
+//   stripes never wait on each other
+// - each stripe resizes on its own while holding just its own lock, so a
+//   resize never stops the rest of the map, and readers keep using the old
+//   table until the new one is published
+
+// keys are spread with a HashFunction from this package, which also picks the
+// stripe from the high bits and the bucket from the low bits
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+public class StripedConcurrentHashMap<K, V> {
+    private static final int MAX_SEGMENTS = 1 << 16;
+    private static final VarHandle TABLE = MethodHandles.arrayElementVarHandle(Node[].class);
+
+    private final Segment<K, V>[] segments;
+    private final int segmentShift;
+    private final HashFunction hashFunction;
+
+    public StripedConcurrentHashMap() {
+        this(OpenAddressing.DEFAULT_EXPECTED_SIZE);
+    }
+
+    public StripedConcurrentHashMap(int expectedSize) {
+        this(expectedSize, 4 * Runtime.getRuntime().availableProcessors(),
+                OpenAddressing.DEFAULT_LOAD_FACTOR, new WyHashFunction());
+    }
+
+    // concurrencyLevel is the number of stripes, rounded up to a power of 2
+    public StripedConcurrentHashMap(int expectedSize, int concurrencyLevel, float loadFactor, HashFunction hashFunction) {
+        if (concurrencyLevel <= 0) throw new IllegalArgumentException("Invalid Concurrency Level - must be more than 0");
+        OpenAddressing.checkLoadFactor(loadFactor);
+        if (hashFunction == null) throw new IllegalArgumentException();
+        this.hashFunction = hashFunction;
+
+        int numSegments = concurrencyLevel >= MAX_SEGMENTS
+                ? MAX_SEGMENTS : Math.max(1, Integer.highestOneBit(concurrencyLevel - 1) << 1);
+        this.segmentShift = 32 - Integer.numberOfTrailingZeros(numSegments);
+        Segment<K, V>[] segs = newSegments(numSegments);
+        int perSegment = Math.max(1, (expectedSize + numSegments - 1) / numSegments);
+        for (int i = 0; i < numSegments; i++) segs[i] = new Segment<>(perSegment, loadFactor);
+        this.segments = segs;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> Segment<K, V>[] newSegments(int numSegments) {
+        return (Segment<K, V>[]) new Segment<?, ?>[numSegments];
+    }
+
+    static final class Node<K, V> {
+        final int hash;
+        final K key;
+        volatile V value;
+        volatile Node<K, V> next;
+
+        Node(int hash, K key, V value, Node<K, V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    // one stripe: a chained hash table guarded by its own lock
+    static final class Segment<K, V> extends ReentrantLock {
+        private static final long serialVersionUID = 1L;
+
+        private final float loadFactor;
+        // written only under the lock, volatile so lock free readers see the latest table
+        volatile Node<K, V>[] table;
+        volatile int count = 0;
+        private int threshold;
+
+        Segment(int expectedSize, float loadFactor) {
+            this.loadFactor = loadFactor;
+            setTable(newTable(OpenAddressing.capacityFor(expectedSize, loadFactor)));
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <K, V> Node<K, V>[] newTable(int capacity) {
+            return (Node<K, V>[]) new Node<?, ?>[capacity];
+        }
+
+        private void setTable(Node<K, V>[] newTable) {
+            threshold = (int) (newTable.length * loadFactor);
+            table = newTable;
+        }
+
+        @SuppressWarnings("unchecked")
+        static <K, V> Node<K, V> first(Node<K, V>[] tab, int hash) {
+            return (Node<K, V>) TABLE.getAcquire(tab, hash & (tab.length - 1));
+        }
+
+        // lock free lookup
+        Node<K, V> find(int hash, Object key) {
+            for (Node<K, V> node = first(table, hash); node != null; node = node.next) {
+                if (node.hash == hash && key.equals(node.key)) return node;
+            }
+            return null;
+        }
+
+        // must hold the lock
+        V put(int hash, K key, V value, boolean onlyIfAbsent) {
+            Node<K, V> existing = find(hash, key);
+            if (existing != null) {
+                V old = existing.value;
+                if (!onlyIfAbsent) existing.value = value;
+                return old;
+            }
+            insert(hash, key, value);
+            return null;
+        }
+
+        // must hold the lock, key must be absent
+        void insert(int hash, K key, V value) {
+            if (count + 1 > threshold) resize();
+            Node<K, V>[] tab = table;
+            int i = hash & (tab.length - 1);
+            // fully construct the node before publishing it at the head of the bucket
+            TABLE.setRelease(tab, i, new Node<>(hash, key, value, first(tab, hash)));
+            count = count + 1;
+        }
+
+        // must hold the lock
+        V remove(int hash, Object key) {
+            Node<K, V>[] tab = table;
+            int i = hash & (tab.length - 1);
+            Node<K, V> prev = null;
+            for (Node<K, V> node = first(tab, hash); node != null; prev = node, node = node.next) {
+                if (node.hash == hash && key.equals(node.key)) {
+                    // readers already on the node still see a valid chain through node.next
+                    if (prev == null) TABLE.setRelease(tab, i, node.next);
+                    else prev.next = node.next;
+                    count = count - 1;
+                    return node.value;
+                }
+            }
+            return null;
+        }
+
+        // must hold the lock
+        // copies every node into a fresh table, the old table is left untouched
+        // so concurrent readers of it keep seeing every entry until the swap
+        private void resize() {
+            Node<K, V>[] oldTab = table;
+            if (oldTab.length >= OpenAddressing.MAX_CAPACITY) return;
+            Node<K, V>[] newTab = newTable(oldTab.length * 2);
+            int mask = newTab.length - 1;
+            for (int j = 0; j < oldTab.length; j++) {
+                for (Node<K, V> node = first(oldTab, j); node != null; node = node.next) {
+                    int i = node.hash & mask;
+                    newTab[i] = new Node<>(node.hash, node.key, node.value, newTab[i]);
+                }
+            }
+            setTable(newTab);
+        }
+
+        // must hold the lock
+        void clear() {
+            setTable(newTable(table.length));
+            count = 0;
+        }
+    }
+
+    private int hash(Object key) {
+        long h = hashFunction.hashLong(key.hashCode());
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private Segment<K, V> segmentFor(int hash) {
+        return segments[hash >>> segmentShift & (segments.length - 1)];
+    }
+
+    public V get(Object key) {
+        return getOrDefault(key, null);
+    }
+
+    public V getOrDefault(Object key, V defaultValue) {
+        if (key == null) return defaultValue;
+        int hash = hash(key);
+        Node<K, V> node = segmentFor(hash).find(hash, key);
+        return node == null ? defaultValue : node.value;
+    }
+
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    // returns the previous value, or null if there was none
+    public V put(K key, V value) {
+        return put(key, value, false);
+    }
+
+    // returns the current value if present, otherwise inserts value and returns null
+    public V putIfAbsent(K key, V value) {
+        return put(key, value, true);
+    }
+
+    private V put(K key, V value, boolean onlyIfAbsent) {
+        if (key == null || value == null) throw new IllegalArgumentException();
+        int hash = hash(key);
+        Segment<K, V> segment = segmentFor(hash);
+        segment.lock();
+        try {
+            return segment.put(hash, key, value, onlyIfAbsent);
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    // the mapping function runs at most once per absent key, while holding the
+    // key's stripe lock - it must be short and must not touch this map
+    // a null result leaves the key absent
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        if (key == null || mappingFunction == null) throw new IllegalArgumentException();
+        int hash = hash(key);
+        Segment<K, V> segment = segmentFor(hash);
+        // fast path without locking
+        Node<K, V> node = segment.find(hash, key);
+        if (node != null) return node.value;
+
+        segment.lock();
+        try {
+            // someone else may have inserted it while we waited for the lock
+            node = segment.find(hash, key);
+            if (node != null) return node.value;
+            V value = mappingFunction.apply(key);
+            if (value != null) segment.insert(hash, key, value);
+            return value;
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    // returns the removed value, or null if the key was absent
+    public V remove(Object key) {
+        if (key == null) return null;
+        int hash = hash(key);
+        Segment<K, V> segment = segmentFor(hash);
+        segment.lock();
+        try {
+            return segment.remove(hash, key);
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    // sum of the stripe counts - only a snapshot while writers are active
+    public int size() {
+        long sum = 0;
+        for (Segment<K, V> segment : segments) sum += segment.count;
+        return (int) Math.min(sum, Integer.MAX_VALUE);
+    }
+
+    public boolean isEmpty() {
+        for (Segment<K, V> segment : segments) {
+            if (segment.count != 0) return false;
+        }
+        return true;
+    }
+
+    // clears one stripe at a time, so it is not atomic with respect to concurrent writers
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            segment.lock();
+            try {
+                segment.clear();
+            } finally {
+                segment.unlock();
+            }
+        }
+    }
+
+    // weakly consistent: never throws ConcurrentModificationException, and may or
+    // may not reflect writes made during the iteration
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        for (Segment<K, V> segment : segments) {
+            Node<K, V>[] tab = segment.table;
+            for (int j = 0; j < tab.length; j++) {
+                for (Node<K, V> node = Segment.first(tab, j); node != null; node = node.next) {
+                    action.accept(node.key, node.value);
+                }
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        forEach((k, v) -> {
+            if (sb.length() > 1) sb.append(", ");
+            sb.append(k).append('=').append(v);
+        });
+        return sb.append('}').toString();
+    }
+}
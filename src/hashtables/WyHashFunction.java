@@ -0,0 +1,87 @@
+package hashtables;
+
+// wyhash (final version 4) - folds the input with 64x64 -> 128 bit multiplies,
+// which makes it very fast on short keys such as ids and names
+public final class WyHashFunction extends AbstractHashFunction {
+    private static final long S0 = 0x2d358dccaa6c78a5L;
+    private static final long S1 = 0x8bb84b93962eacc9L;
+    private static final long S2 = 0x4b33a62ed433d4a3L;
+    private static final long S3 = 0x4d5a2da51de1aa47L;
+
+    public WyHashFunction() {
+        this(0);
+    }
+
+    public WyHashFunction(long seed) {
+        super(seed);
+    }
+
+    @Override
+    <T> long hash(T input, ByteAccess<T> access, long offset, long length) {
+        long seed = this.seed ^ mix(this.seed ^ S0, S1);
+        long a;
+        long b;
+
+        if (length <= 16) {
+            if (length >= 4) {
+                long mid = (length >>> 3) << 2;
+                a = access.getInt(input, offset) << 32 | access.getInt(input, offset + mid);
+                b = access.getInt(input, offset + length - 4) << 32 | access.getInt(input, offset + length - 4 - mid);
+            } else if (length > 0) {
+                a = (long) access.getByte(input, offset) << 16
+                        | (long) access.getByte(input, offset + (length >>> 1)) << 8
+                        | access.getByte(input, offset + length - 1);
+                b = 0;
+            } else {
+                a = b = 0;
+            }
+        } else {
+            long i = length;
+            long p = offset;
+            if (i > 48) {
+                long see1 = seed;
+                long see2 = seed;
+                do {
+                    seed = mix(access.getLong(input, p) ^ S1, access.getLong(input, p + 8) ^ seed);
+                    see1 = mix(access.getLong(input, p + 16) ^ S2, access.getLong(input, p + 24) ^ see1);
+                    see2 = mix(access.getLong(input, p + 32) ^ S3, access.getLong(input, p + 40) ^ see2);
+                    p += 48;
+                    i -= 48;
+                } while (i > 48);
+                seed ^= see1 ^ see2;
+            }
+            while (i > 16) {
+                seed = mix(access.getLong(input, p) ^ S1, access.getLong(input, p + 8) ^ seed);
+                i -= 16;
+                p += 16;
+            }
+            a = access.getLong(input, p + i - 16);
+            b = access.getLong(input, p + i - 8);
+        }
+        return finish(a, b, seed, length);
+    }
+
+    // same as hashing the 8 little endian bytes of key
+    @Override
+    public long hashLong(long key) {
+        long seed = this.seed ^ mix(this.seed ^ S0, S1);
+        long lo = key & 0xFFFFFFFFL;
+        long hi = key >>> 32;
+        return finish(lo << 32 | hi, hi << 32 | lo, seed, 8);
+    }
+
+    private static long finish(long a, long b, long seed, long length) {
+        a ^= S1;
+        b ^= seed;
+        // wymum: a, b = low and high halves of the 128 bit product
+        long lo = a * b;
+        long hi = Math.multiplyHigh(a, b) + ((a >> 63) & b) + ((b >> 63) & a);
+        return mix(lo ^ S0 ^ length, hi ^ S1);
+    }
+
+    // folded 128 bit product: low half xor high half
+    private static long mix(long a, long b) {
+        long hi = Math.multiplyHigh(a, b) + ((a >> 63) & b) + ((b >> 63) & a);
+        return a * b ^ hi;
+    }
+}
@@ -0,0 +1,94 @@
+package hashtables;
+
+// xxHash64 - 4 independent accumulators over 32 byte stripes,
+// so long keys are hashed with plenty of instruction level parallelism
+public final class XxHash64HashFunction extends AbstractHashFunction {
+    private static final long P1 = 0x9E3779B185EBCA87L;
+    private static final long P2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long P3 = 0x165667B19E3779F9L;
+    private static final long P4 = 0x85EBCA77C2B2AE63L;
+    private static final long P5 = 0x27D4EB2F165667C5L;
+
+    public XxHash64HashFunction() {
+        this(0);
+    }
+
+    public XxHash64HashFunction(long seed) {
+        super(seed);
+    }
+
+    @Override
+    <T> long hash(T input, ByteAccess<T> access, long offset, long length) {
+        long end = offset + length;
+        long i = offset;
+        long h;
+
+        if (length >= 32) {
+            long v1 = seed + P1 + P2;
+            long v2 = seed + P2;
+            long v3 = seed;
+            long v4 = seed - P1;
+            long limit = end - 32;
+            do {
+                v1 = round(v1, access.getLong(input, i));
+                v2 = round(v2, access.getLong(input, i + 8));
+                v3 = round(v3, access.getLong(input, i + 16));
+                v4 = round(v4, access.getLong(input, i + 24));
+                i += 32;
+            } while (i <= limit);
+
+            h = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            h = mergeRound(h, v1);
+            h = mergeRound(h, v2);
+            h = mergeRound(h, v3);
+            h = mergeRound(h, v4);
+        } else {
+            h = seed + P5;
+        }
+        h += length;
+
+        for (; i + 8 <= end; i += 8) {
+            h ^= round(0, access.getLong(input, i));
+            h = Long.rotateLeft(h, 27) * P1 + P4;
+        }
+        if (i + 4 <= end) {
+            h ^= access.getInt(input, i) * P1;
+            h = Long.rotateLeft(h, 23) * P2 + P3;
+            i += 4;
+        }
+        for (; i < end; i++) {
+            h ^= access.getByte(input, i) * P5;
+            h = Long.rotateLeft(h, 11) * P1;
+        }
+        return avalanche(h);
+    }
+
+    // same as hashing the 8 little endian bytes of key
+    @Override
+    public long hashLong(long key) {
+        long h = seed + P5 + 8;
+        h ^= round(0, key);
+        h = Long.rotateLeft(h, 27) * P1 + P4;
+        return avalanche(h);
+    }
+
+    private static long round(long acc, long input) {
+        acc += input * P2;
+        acc = Long.rotateLeft(acc, 31);
+        return acc * P1;
+    }
+
+    private static long mergeRound(long acc, long val) {
+        acc ^= round(0, val);
+        return acc * P1 + P4;
+    }
+
+    private static long avalanche(long h) {
+        h ^= h >>> 33;
+        h *= P2;
+        h ^= h >>> 29;
+        h *= P3;
+        h ^= h >>> 32;
+        return h;
+    }
+}
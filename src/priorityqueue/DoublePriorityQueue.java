@@ -0,0 +1,176 @@
+package priorityqueue;
+
+import arrays.ArrayCapacity;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+// binary heap over primitive double keys with an optional parallel int payload,
+// e.g. (score, docId) pairs - keys[i] and values[i] always move together, so
+// pushing a pair never allocates a node, a Double or a wrapper object
+// values stays null until the first add(key, value), so a queue of bare keys
+// pays nothing for the payload
+public class DoublePriorityQueue {
+    private double[] keys;
+    private int[] values;
+    private int heapSize = 0;
+
+    // a max heap stores -key, which reverses the order of every double exactly,
+    // so the sift loops stay plain < comparisons for both directions
+    // NaN keys are rejected since they are unordered under <
+    private final double sign;
+
+    public DoublePriorityQueue() {
+        this(16);
+    }
+
+    public DoublePriorityQueue(int initialCapacity) {
+        this(initialCapacity, false);
+    }
+
+    public DoublePriorityQueue(int initialCapacity, boolean maxHeap) {
+        if (initialCapacity < 0) throw new IllegalArgumentException("Invalid Capacity - cannot be less than 0");
+        keys = new double[initialCapacity];
+        sign = maxHeap ? -1.0 : 1.0;
+    }
+
+    public int size() {
+        return heapSize;
+    }
+
+    public boolean isEmpty() {
+        return heapSize == 0;
+    }
+
+    public boolean isMaxHeap() {
+        return sign < 0;
+    }
+
+    // O(1) - the old keys are simply overwritten by later adds
+    public void clear() {
+        heapSize = 0;
+    }
+
+    public void add(double key) {
+        checkKey(key);
+        if (heapSize == keys.length) grow(heapSize + 1);
+        swim(heapSize++, key * sign, 0);
+    }
+
+    // entries added earlier without a value get a payload of 0
+    public void add(double key, int value) {
+        checkKey(key);
+        if (values == null) values = new int[keys.length];
+        if (heapSize == keys.length) grow(heapSize + 1);
+        swim(heapSize++, key * sign, value);
+    }
+
+    // get highest priority key
+    public double peekKey() {
+        if (isEmpty()) throw new NoSuchElementException("Priority queue is empty");
+        return keys[0] * sign;
+    }
+
+    // payload of the highest priority key
+    public int peekValue() {
+        if (isEmpty()) throw new NoSuchElementException("Priority queue is empty");
+        if (values == null) throw new IllegalStateException("No values were added to the queue");
+        return values[0];
+    }
+
+    // removes and returns the highest priority key
+    public double poll() {
+        double key = peekKey();
+        removeTop();
+        return key;
+    }
+
+    // removes the highest priority key and returns its payload
+    public int pollValue() {
+        int value = peekValue();
+        removeTop();
+        return value;
+    }
+
+    // replaces the highest priority entry with (key, value) in a single sink,
+    // instead of a poll followed by an add - e.g. a bounded top k that evicts
+    // its current worst entry
+    public void replaceTop(double key) {
+        checkKey(key);
+        if (isEmpty()) throw new NoSuchElementException("Priority queue is empty");
+        sink(0, key * sign, values == null ? 0 : values[0]);
+    }
+
+    public void replaceTop(double key, int value) {
+        checkKey(key);
+        if (isEmpty()) throw new NoSuchElementException("Priority queue is empty");
+        if (values == null) values = new int[keys.length];
+        sink(0, key * sign, value);
+    }
+
+    private static void checkKey(double key) {
+        if (Double.isNaN(key)) throw new IllegalArgumentException("Key cannot be NaN");
+    }
+
+    private void removeTop() {
+        heapSize--;
+        if (heapSize == 0) return;
+        // move the last entry into the hole at the root
+        sink(0, keys[heapSize], values == null ? 0 : values[heapSize]);
+    }
+
+    // places (key, value) at heap index k, moving parents down into the hole until it fits
+    // (the entry is written once at the end instead of swapped at every level)
+    private void swim(int k, double key, int value) {
+        while (k > 0) {
+            int parent = (k - 1) / 2;
+            double parentKey = keys[parent];
+            if (parentKey <= key) break;
+            keys[k] = parentKey;
+            if (values != null) values[k] = values[parent];
+            k = parent;
+        }
+        keys[k] = key;
+        if (values != null) values[k] = value;
+    }
+
+    // places (key, value) at heap index k, moving the smaller child up into the hole until it fits
+    private void sink(int k, double key, int value) {
+        int half = heapSize / 2; // nodes at or after half are leaves
+        while (k < half) {
+            int child = 2 * k + 1;
+            int right = child + 1;
+            if (right < heapSize && keys[right] < keys[child]) child = right;
+            double childKey = keys[child];
+            if (key <= childKey) break;
+            keys[k] = childKey;
+            if (values != null) values[k] = values[child];
+            k = child;
+        }
+        keys[k] = key;
+        if (values != null) values[k] = value;
+    }
+
+    // resize exponentially by factor of 2 to keep add at amortized O(1)
+    private void grow(int minCapacity) {
+        int newCapacity = ArrayCapacity.grownCapacity(keys.length, minCapacity);
+        keys = Arrays.copyOf(keys, newCapacity);
+        if (values != null) values = Arrays.copyOf(values, newCapacity);
+    }
+
+    // test to check if every parent has priority over its children
+    public boolean isHeap() {
+        for (int i = 1; i < heapSize; i++) {
+            if (keys[i] < keys[(i - 1) / 2]) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        // heap order
+        double[] out = new double[heapSize];
+        for (int i = 0; i < heapSize; i++) out[i] = keys[i] * sign;
+        return Arrays.toString(out);
+    }
+}
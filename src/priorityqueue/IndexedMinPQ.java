@@ -0,0 +1,165 @@
+package priorityqueue;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+// min priority queue over dense int ids 0..maxSize-1 with double keys
+// the heap is three parallel primitive arrays instead of objects plus a
+// HashMap<T, TreeSet<Integer>> position index like PriorityQueue:
+//   heap[i]   id stored at heap index i
+//   pos[id]   heap index of id, -1 if id is not in the queue
+//   keys[id]  current key of id
+// so decreaseKey finds its element in O(1), moving an element is a couple of
+// array writes, and no operation allocates
+// NaN keys are rejected since they are unordered under <
+public class IndexedMinPQ {
+    private final int[] heap;
+    private final int[] pos;
+    private final double[] keys;
+    private int heapSize = 0;
+
+    public IndexedMinPQ(int maxSize) {
+        if (maxSize <= 0) throw new IllegalArgumentException("Size must be more than 0");
+        heap = new int[maxSize];
+        pos = new int[maxSize];
+        keys = new double[maxSize];
+        Arrays.fill(pos, -1);
+    }
+
+    public int size() {
+        return heapSize;
+    }
+
+    public boolean isEmpty() {
+        return heapSize == 0;
+    }
+
+    private void checkId(int id) {
+        if (id < 0 || id >= pos.length) throw new IndexOutOfBoundsException("Invalid id " + id);
+    }
+
+    public boolean contains(int id) {
+        checkId(id);
+        return pos[id] != -1;
+    }
+
+    public double keyOf(int id) {
+        if (!contains(id)) throw new NoSuchElementException("Id " + id + " is not in the queue");
+        return keys[id];
+    }
+
+    public void insert(int id, double key) {
+        if (Double.isNaN(key)) throw new IllegalArgumentException("Key cannot be NaN");
+        if (contains(id)) throw new IllegalArgumentException("Id " + id + " is already in the queue");
+        keys[id] = key;
+        swim(heapSize++, id);
+    }
+
+    // key must not be greater than the current key of id
+    public void decreaseKey(int id, double key) {
+        if (Double.isNaN(key)) throw new IllegalArgumentException("Key cannot be NaN");
+        if (key > keyOf(id)) throw new IllegalArgumentException("New key is greater than the current key");
+        keys[id] = key;
+        swim(pos[id], id);
+    }
+
+    // key must not be less than the current key of id
+    public void increaseKey(int id, double key) {
+        if (Double.isNaN(key)) throw new IllegalArgumentException("Key cannot be NaN");
+        if (key < keyOf(id)) throw new IllegalArgumentException("New key is less than the current key");
+        keys[id] = key;
+        sink(pos[id], id);
+    }
+
+    // insert, or move id to key in whichever direction is needed
+    public void insertOrChangeKey(int id, double key) {
+        if (!contains(id)) {
+            insert(id, key);
+        } else if (key < keys[id]) {
+            decreaseKey(id, key);
+        } else {
+            increaseKey(id, key);
+        }
+    }
+
+    // get highest priority id
+    public int peekId() {
+        if (isEmpty()) throw new NoSuchElementException("Priority queue is empty");
+        return heap[0];
+    }
+
+    public double peekKey() {
+        return keys[peekId()];
+    }
+
+    // removes and returns the id with the smallest key
+    public int pollId() {
+        int id = peekId();
+        removeAt(0);
+        return id;
+    }
+
+    public boolean remove(int id) {
+        if (!contains(id)) return false;
+        removeAt(pos[id]);
+        return true;
+    }
+
+    private void removeAt(int i) {
+        int removed = heap[i];
+        pos[removed] = -1;
+        heapSize--;
+        if (i == heapSize) return;
+        // move the last id into the hole and restore the invariant in whichever direction
+        int last = heap[heapSize];
+        if (i > 0 && keys[last] < keys[heap[(i - 1) / 2]]) swim(i, last);
+        else sink(i, last);
+    }
+
+    public void clear() {
+        for (int i = 0; i < heapSize; i++) pos[heap[i]] = -1;
+        heapSize = 0;
+    }
+
+    // places id at heap index k, moving parents down into the hole until id fits
+    // (the id is written once at the end instead of swapped at every level)
+    private void swim(int k, int id) {
+        double key = keys[id];
+        while (k > 0) {
+            int parent = (k - 1) / 2;
+            int parentId = heap[parent];
+            if (keys[parentId] <= key) break;
+            heap[k] = parentId;
+            pos[parentId] = k;
+            k = parent;
+        }
+        heap[k] = id;
+        pos[id] = k;
+    }
+
+    // places id at heap index k, moving the smaller child up into the hole until id fits
+    private void sink(int k, int id) {
+        double key = keys[id];
+        int half = heapSize / 2; // nodes at or after half are leaves
+        while (k < half) {
+            int child = 2 * k + 1;
+            int right = child + 1;
+            if (right < heapSize && keys[heap[right]] < keys[heap[child]]) child = right;
+            int childId = heap[child];
+            if (key <= keys[childId]) break;
+            heap[k] = childId;
+            pos[childId] = k;
+            k = child;
+        }
+        heap[k] = id;
+        pos[id] = k;
+    }
+
+    // test to check if heap is still min heap
+    public boolean isMinHeap() {
+        for (int i = 1; i < heapSize; i++) {
+            if (keys[heap[i]] < keys[heap[(i - 1) / 2]]) return false;
+        }
+        return true;
+    }
+}
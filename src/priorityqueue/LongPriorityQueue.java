@@ -0,0 +1,167 @@
+package priorityqueue;
+
+import arrays.ArrayCapacity;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+// binary heap over primitive long keys with an optional parallel int payload,
+// e.g. (score, docId) pairs - keys[i] and values[i] always move together, so
+// pushing a pair never allocates a node, a Long or a wrapper object
+// values stays null until the first add(key, value), so a queue of bare keys
+// pays nothing for the payload
+public class LongPriorityQueue {
+    private long[] keys;
+    private int[] values;
+    private int heapSize = 0;
+
+    // a max heap stores ~key, which reverses the order of every long exactly,
+    // so the sift loops stay plain < comparisons for both directions
+    private final long flip;
+
+    public LongPriorityQueue() {
+        this(16);
+    }
+
+    public LongPriorityQueue(int initialCapacity) {
+        this(initialCapacity, false);
+    }
+
+    public LongPriorityQueue(int initialCapacity, boolean maxHeap) {
+        if (initialCapacity < 0) throw new IllegalArgumentException("Invalid Capacity - cannot be less than 0");
+        keys = new long[initialCapacity];
+        flip = maxHeap ? -1L : 0L;
+    }
+
+    public int size() {
+        return heapSize;
+    }
+
+    public boolean isEmpty() {
+        return heapSize == 0;
+    }
+
+    public boolean isMaxHeap() {
+        return flip != 0;
+    }
+
+    // O(1) - the old keys are simply overwritten by later adds
+    public void clear() {
+        heapSize = 0;
+    }
+
+    public void add(long key) {
+        if (heapSize == keys.length) grow(heapSize + 1);
+        swim(heapSize++, key ^ flip, 0);
+    }
+
+    // entries added earlier without a value get a payload of 0
+    public void add(long key, int value) {
+        if (values == null) values = new int[keys.length];
+        if (heapSize == keys.length) grow(heapSize + 1);
+        swim(heapSize++, key ^ flip, value);
+    }
+
+    // get highest priority key
+    public long peekKey() {
+        if (isEmpty()) throw new NoSuchElementException("Priority queue is empty");
+        return keys[0] ^ flip;
+    }
+
+    // payload of the highest priority key
+    public int peekValue() {
+        if (isEmpty()) throw new NoSuchElementException("Priority queue is empty");
+        if (values == null) throw new IllegalStateException("No values were added to the queue");
+        return values[0];
+    }
+
+    // removes and returns the highest priority key
+    public long poll() {
+        long key = peekKey();
+        removeTop();
+        return key;
+    }
+
+    // removes the highest priority key and returns its payload
+    public int pollValue() {
+        int value = peekValue();
+        removeTop();
+        return value;
+    }
+
+    // replaces the highest priority entry with (key, value) in a single sink,
+    // instead of a poll followed by an add - e.g. a bounded top k that evicts
+    // its current worst entry
+    public void replaceTop(long key) {
+        if (isEmpty()) throw new NoSuchElementException("Priority queue is empty");
+        sink(0, key ^ flip, values == null ? 0 : values[0]);
+    }
+
+    public void replaceTop(long key, int value) {
+        if (isEmpty()) throw new NoSuchElementException("Priority queue is empty");
+        if (values == null) values = new int[keys.length];
+        sink(0, key ^ flip, value);
+    }
+
+    private void removeTop() {
+        heapSize--;
+        if (heapSize == 0) return;
+        // move the last entry into the hole at the root
+        sink(0, keys[heapSize], values == null ? 0 : values[heapSize]);
+    }
+
+    // places (key, value) at heap index k, moving parents down into the hole until it fits
+    // (the entry is written once at the end instead of swapped at every level)
+    private void swim(int k, long key, int value) {
+        while (k > 0) {
+            int parent = (k - 1) / 2;
+            long parentKey = keys[parent];
+            if (parentKey <= key) break;
+            keys[k] = parentKey;
+            if (values != null) values[k] = values[parent];
+            k = parent;
+        }
+        keys[k] = key;
+        if (values != null) values[k] = value;
+    }
+
+    // places (key, value) at heap index k, moving the smaller child up into the hole until it fits
+    private void sink(int k, long key, int value) {
+        int half = heapSize / 2; // nodes at or after half are leaves
+        while (k < half) {
+            int child = 2 * k + 1;
+            int right = child + 1;
+            if (right < heapSize && keys[right] < keys[child]) child = right;
+            long childKey = keys[child];
+            if (key <= childKey) break;
+            keys[k] = childKey;
+            if (values != null) values[k] = values[child];
+            k = child;
+        }
+        keys[k] = key;
+        if (values != null) values[k] = value;
+    }
+
+    // resize exponentially by factor of 2 to keep add at amortized O(1)
+    private void grow(int minCapacity) {
+        int newCapacity = ArrayCapacity.grownCapacity(keys.length, minCapacity);
+        keys = Arrays.copyOf(keys, newCapacity);
+        if (values != null) values = Arrays.copyOf(values, newCapacity);
+    }
+
+    // test to check if every parent has priority over its children
+    public boolean isHeap() {
+        for (int i = 1; i < heapSize; i++) {
+            if (keys[i] < keys[(i - 1) / 2]) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        // heap order
+        long[] out = new long[heapSize];
+        for (int i = 0; i < heapSize; i++) out[i] = keys[i] ^ flip;
+        return Arrays.toString(out);
+    }
+}
@@ -0,0 +1,220 @@
+package priorityqueue;
+
+// relaxed concurrent priority queue (MultiQueue) for many threads adding and
+// polling at once
+// - the elements are spread over c * p small binary heaps, each guarded by its
+//   own lock, where p is the expected number of threads and c the relaxation
+// - add pushes into a random heap, skipping heaps whose lock is taken
+// - poll reads the cached tops of two random heaps without locking and pops
+//   the better one, so with c * p heaps most operations never meet another thread
+// poll is relaxed: it returns one of the smallest elements with high
+// probability rather than always the smallest - a larger c spreads contention
+// further at the cost of a weaker order (c = 2 is the usual choice)
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class MultiQueue<T> {
+    private static final int DEFAULT_RELAXATION = 2;
+
+    private final Heap<T>[] heaps;
+    private final Comparator<? super T> comparator;
+
+    public MultiQueue() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_RELAXATION);
+    }
+
+    public MultiQueue(int threads, int relaxation) {
+        this(threads, relaxation, naturalOrder());
+    }
+
+    public MultiQueue(int threads, int relaxation, Comparator<? super T> comparator) {
+        if (threads <= 0) throw new IllegalArgumentException("Threads must be more than 0");
+        if (relaxation <= 0) throw new IllegalArgumentException("Relaxation must be more than 0");
+        if (comparator == null) throw new IllegalArgumentException("Comparator cannot be null");
+        this.comparator = comparator;
+        // at least 2 heaps so poll always has two to choose from
+        int numHeaps = Math.max(2, threads * relaxation);
+        Heap<T>[] hs = newHeaps(numHeaps);
+        for (int i = 0; i < numHeaps; i++) hs[i] = new Heap<>(comparator);
+        this.heaps = hs;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Heap<T>[] newHeaps(int numHeaps) {
+        return (Heap<T>[]) new Heap<?>[numHeaps];
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> Comparator<? super T> naturalOrder() {
+        return (Comparator) Comparator.naturalOrder();
+    }
+
+    // one of the c * p heaps: a binary heap guarded by its own lock
+    static final class Heap<T> extends ReentrantLock {
+        private static final long serialVersionUID = 1L;
+
+        private final Comparator<? super T> comparator;
+        private Object[] elems = new Object[16];
+        // written only under the lock, volatile so poll can compare tops and
+        // size() can sum sizes without locking
+        volatile T top = null;
+        volatile int size = 0;
+
+        Heap(Comparator<? super T> comparator) {
+            this.comparator = comparator;
+        }
+
+        void push(T elem) {
+            int n = size;
+            if (n == elems.length) elems = Arrays.copyOf(elems, n * 2);
+            swim(n, elem);
+            size = n + 1;
+            top = elemAt(0);
+        }
+
+        T pop() {
+            T removed = elemAt(0);
+            int n = size - 1;
+            T last = elemAt(n);
+            elems[n] = null;
+            size = n;
+            if (n > 0) sink(0, last, n);
+            top = n > 0 ? elemAt(0) : null;
+            return removed;
+        }
+
+        @SuppressWarnings("unchecked")
+        private T elemAt(int i) {
+            return (T) elems[i];
+        }
+
+        // hole sift as in IndexedMinPQ - the element is written once at its final index
+        private void swim(int k, T elem) {
+            while (k > 0) {
+                int parent = (k - 1) / 2;
+                T parentElem = elemAt(parent);
+                if (comparator.compare(elem, parentElem) >= 0) break;
+                elems[k] = parentElem;
+                k = parent;
+            }
+            elems[k] = elem;
+        }
+
+        private void sink(int k, T elem, int n) {
+            int half = n / 2; // nodes at or after half are leaves
+            while (k < half) {
+                int child = 2 * k + 1;
+                int right = child + 1;
+                if (right < n && comparator.compare(elemAt(right), elemAt(child)) < 0) child = right;
+                T childElem = elemAt(child);
+                if (comparator.compare(elem, childElem) <= 0) break;
+                elems[k] = childElem;
+                k = child;
+            }
+            elems[k] = elem;
+        }
+    }
+
+    public void add(T elem) {
+        if (elem == null) throw new IllegalArgumentException();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (true) {
+            Heap<T> heap = heaps[random.nextInt(heaps.length)];
+            // another thread holds it - try a different heap instead of waiting
+            if (!heap.tryLock()) continue;
+            try {
+                heap.push(elem);
+                return;
+            } finally {
+                heap.unlock();
+            }
+        }
+    }
+
+    // removes one of the smallest elements, or returns null if every heap was
+    // seen empty
+    public T poll() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        // up to one two-choice attempt per heap, then fall back to scanning every heap so a
+        // nearly empty queue still finds its last elements
+        for (int attempt = 0; attempt < heaps.length; attempt++) {
+            Heap<T> heap = pickBetter(heaps[random.nextInt(heaps.length)], heaps[random.nextInt(heaps.length)]);
+            if (heap == null || !heap.tryLock()) continue;
+            try {
+                // the top may have been taken between the read and the lock
+                if (heap.size > 0) return heap.pop();
+            } finally {
+                heap.unlock();
+            }
+        }
+        return pollScan();
+    }
+
+    // the heap with the smaller cached top, or null if both look empty
+    private Heap<T> pickBetter(Heap<T> a, Heap<T> b) {
+        T topA = a.top;
+        T topB = b.top;
+        if (topA == null) return topB == null ? null : b;
+        if (topB == null) return a;
+        return comparator.compare(topA, topB) <= 0 ? a : b;
+    }
+
+    private T pollScan() {
+        int start = ThreadLocalRandom.current().nextInt(heaps.length);
+        for (int i = 0; i < heaps.length; i++) {
+            Heap<T> heap = heaps[(start + i) % heaps.length];
+            if (heap.size == 0) continue;
+            heap.lock();
+            try {
+                if (heap.size > 0) return heap.pop();
+            } finally {
+                heap.unlock();
+            }
+        }
+        return null;
+    }
+
+    // smallest element without removing it, or null if the queue looks empty
+    public T peek() {
+        T best = null;
+        for (Heap<T> heap : heaps) {
+            T top = heap.top;
+            if (top != null && (best == null || comparator.compare(top, best) < 0)) best = top;
+        }
+        return best;
+    }
+
+    // exact only when no other thread is adding or polling
+    public int size() {
+        int size = 0;
+        for (Heap<T> heap : heaps) size += heap.size;
+        return size;
+    }
+
+    public boolean isEmpty() {
+        for (Heap<T> heap : heaps) {
+            if (heap.size > 0) return false;
+        }
+        return true;
+    }
+
+    public void clear() {
+        for (Heap<T> heap : heaps) {
+            heap.lock();
+            try {
+                Arrays.fill(heap.elems, 0, heap.size, null);
+                heap.size = 0;
+                heap.top = null;
+            } finally {
+                heap.unlock();
+            }
+        }
+    }
+
+    public Comparator<? super T> comparator() {
+        return comparator;
+    }
+}
@@ -2,7 +2,18 @@ package priorityqueue;
 
 import java.util.*;
 
-public class PriorityQueue<T extends Comparable<T>> {
+// elements are ordered by the given Comparator, or by their natural ordering
+// when none is given (in which case they must implement Comparable)
+public class PriorityQueue<T> {
+    private static final int DEFAULT_ARITY = 2;
+
+    private final Comparator<? super T> comparator;
+
+    // number of children per node - a 4 or 8-ary heap is shallower, and the
+    // children of a node sit next to each other in the backing array, so picking
+    // the smallest child reads one contiguous block instead of jumping per level
+    private final int arity;
+
     private int heapSize = 0;
     private int heapCapacity = 0;
     private List<T> heap = null;
@@ -17,12 +28,44 @@ public class PriorityQueue<T extends Comparable<T>> {
     }
 
     public PriorityQueue(int size) {
-        heap = new ArrayList<>(size);
+        this(size, DEFAULT_ARITY);
+    }
+
+    public PriorityQueue(int size, int arity) {
+        this(size, arity, naturalOrder());
+    }
+
+    // e.g. Comparator.reverseOrder() for a max heap
+    public PriorityQueue(Comparator<? super T> comparator) {
+        this(1, comparator);
+    }
+
+    public PriorityQueue(int size, Comparator<? super T> comparator) {
+        this(size, DEFAULT_ARITY, comparator);
     }
 
+    public PriorityQueue(int size, int arity, Comparator<? super T> comparator) {
+        if (arity < 2) throw new IllegalArgumentException("Arity must be at least 2");
+        if (comparator == null) throw new IllegalArgumentException("Comparator cannot be null");
+        this.arity = arity;
+        this.comparator = comparator;
+        heap = new ArrayList<>(size);
+    }
 
     // O(n) runtime - heapify approach
     public PriorityQueue(T[] elems) {
+        this(elems, DEFAULT_ARITY);
+    }
+
+    public PriorityQueue(T[] elems, int arity) {
+        this(elems, arity, naturalOrder());
+    }
+
+    public PriorityQueue(T[] elems, int arity, Comparator<? super T> comparator) {
+        if (arity < 2) throw new IllegalArgumentException("Arity must be at least 2");
+        if (comparator == null) throw new IllegalArgumentException("Comparator cannot be null");
+        this.arity = arity;
+        this.comparator = comparator;
         heapSize = heapCapacity = elems.length;
         heap = new ArrayList<>(heapCapacity);
 
@@ -32,18 +75,32 @@ public class PriorityQueue<T extends Comparable<T>> {
             heap.add(elems[i]);
         }
 
-        // heapify process
-        for (int i = Math.max(0,(heapSize / 2) - 1); i >= 0; i--) {
+        heapify();
+    }
+
+    // O(n) runtime - heapify approach through addAll
+    public PriorityQueue(Collection<? extends T> elems) {
+        this(elems.size());
+        addAll(elems);
+    }
+
+    // Floyd heapify - sink every parent, from the parent of the last node up to the root
+    private void heapify() {
+        for (int i = (heapSize - 2) / arity; heapSize > 1 && i >= 0; i--) {
             sink(i);
         }
     }
 
-    // O(n log(n)) runtime
-    public PriorityQueue(Collection <T> elems) {
-        this(elems.size());
+    // natural ordering for the constructors without a Comparator - like
+    // java.util.PriorityQueue, non Comparable elements fail with a
+    // ClassCastException on the first comparison
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> Comparator<? super T> naturalOrder() {
+        return (Comparator) Comparator.naturalOrder();
+    }
 
-        // for n elems, perform logn operations each during add
-        for (T elem: elems) add(elem);
+    public Comparator<? super T> comparator() {
+        return comparator;
     }
 
     public boolean isEmpty() {
@@ -105,6 +162,37 @@ public class PriorityQueue<T extends Comparable<T>> {
         heapSize++;
     }
 
+    // a batch of k elems into a heap of n either swims each elem, O(k log(n + k)),
+    // or appends them all and re-heapifies, O(n + k) - the latter wins once the
+    // batch is large relative to the heap
+    public void addAll(Collection<? extends T> elems) {
+        for (T elem : elems) {
+            if (elem == null) throw new IllegalArgumentException();
+        }
+        int batch = elems.size();
+        if (batch == 0) return;
+        int total = heapSize + batch;
+
+        // log2 of the new size, the depth each swim may climb
+        int depth = 32 - Integer.numberOfLeadingZeros(total);
+        if ((long) batch * depth < total) {
+            for (T elem : elems) add(elem);
+            return;
+        }
+
+        for (T elem : elems) {
+            if (heapSize < heapCapacity) {
+                heap.set(heapSize, elem);
+            } else {
+                heap.add(elem);
+                heapCapacity++;
+            }
+            mapAdd(elem, heapSize);
+            heapSize++;
+        }
+        heapify();
+    }
+
     // compares 2 nodes from indexes i and j
     // check if node at index i less than at index j
     private boolean isLess(int i, int j) {
@@ -112,39 +200,64 @@ public class PriorityQueue<T extends Comparable<T>> {
         T node2 = heap.get(j);
 
         // returns -1 if less than, 0 if equals and 1 is more than
-        return node1.compareTo(node2) <= 0;
+        return comparator.compare(node1, node2) <= 0;
     }
 
     // destructive method to the heap
+    // hole sift: parents are moved down into the hole and the element is
+    // written once at its final index, instead of swapping at every level
     private void swim(int k) {
-        int parent = (k-1) / 2;
+        T elem = heap.get(k);
+        int start = k;
 
         // compare k with its parent
-        while (k > 0 && isLess(k, parent)) {
-            //swap indices between k and parent
-            swap(parent, k);
+        while (k > 0) {
+            int parent = (k - 1) / arity;
+            T parentElem = heap.get(parent);
+            if (comparator.compare(elem, parentElem) >= 0) break;
+
+            // move the parent down into the hole
+            heap.set(k, parentElem);
+            mapMove(parentElem, parent, k);
             k = parent;
-
-            // update parent index to new parent based on new index of k
-            parent = (k - 1) / 2;
         }
+        place(elem, start, k);
     }
 
     private void sink(int k) {
-        while (true) {
-            // get indices of children nodes
-            int left = 2 * k + 1;
-            int right = 2 * k + 2;
-            int smallest = left;
+        T elem = heap.get(k);
+        int start = k;
 
-            if (right < heapSize && isLess(right, left)) {
-                smallest = right;
+        while (true) {
+            // children of k are the contiguous block [arity * k + 1, arity * k + arity]
+            int first = arity * k + 1;
+            if (first >= heapSize) break;
+            int last = Math.min(first + arity, heapSize);
+
+            int smallest = first;
+            T smallestElem = heap.get(first);
+            for (int child = first + 1; child < last; child++) {
+                T childElem = heap.get(child);
+                if (comparator.compare(childElem, smallestElem) < 0) {
+                    smallest = child;
+                    smallestElem = childElem;
+                }
             }
-            if (left >= heapSize || isLess(k, smallest)) break;
+            if (comparator.compare(elem, smallestElem) <= 0) break;
 
-            swap(smallest, k);
+            // move the smallest child up into the hole
+            heap.set(k, smallestElem);
+            mapMove(smallestElem, smallest, k);
             k = smallest;
         }
+        place(elem, start, k);
+    }
+
+    // writes the sifted elem into its final index
+    private void place(T elem, int from, int to) {
+        if (from == to) return;
+        heap.set(to, elem);
+        mapMove(elem, from, to);
     }
 
     private void swap(int i, int j) {
@@ -182,7 +295,7 @@ public class PriorityQueue<T extends Comparable<T>> {
             T elem = heap.get(i);
             sink(i);
             // if sinking dn work, try swimming
-            if (heap.get(i).equals(elem)) swim(i);
+            if (heap.get(i) == elem) swim(i);
 
             return removed;
         }
@@ -195,15 +308,19 @@ public class PriorityQueue<T extends Comparable<T>> {
         if (k >= heapSize) return true;
 
         // get child node indices
-        int left = 2 * k + 1;
-        int right = 2 * k + 2;
+        int first = arity * k + 1;
+        int last = Math.min(first + arity, heapSize);
 
-        if (left < heapSize && !isLess(k, left)) return false;
-        if (right < heapSize && !isLess(k, right)) return false;
+        for (int child = first; child < last; child++) {
+            if (!isLess(k, child)) return false;
+        }
 
         // by wishful thinking, we just need to solve for smaller cases
-        // which are left and right indices
-        return isMinHeap(left) && isMinHeap(right);
+        // which are the child indices
+        for (int child = first; child < last; child++) {
+            if (!isMinHeap(child)) return false;
+        }
+        return true;
     }
 
     private void mapAdd(T value, int index) {
@@ -232,6 +349,13 @@ public class PriorityQueue<T extends Comparable<T>> {
         return null;
     }
 
+    // elem moved from index from to index to
+    private void mapMove(T value, int from, int to) {
+        TreeSet<Integer> set = map.get(value);
+        set.remove(from);
+        set.add(to);
+    }
+
     private void mapSwap(T valOne, T valTwo, int valOneIndex, int valTwoIndex) {
         Set<Integer> setOne = map.get(valOne);
         Set<Integer> setTwo = map.get(valTwo);
@@ -0,0 +1,128 @@
+package priorityqueue;
+
+// keeps the k greatest elements seen so far in a fixed size min heap of k slots
+// - the root is the smallest element kept, so once the heap is full a new
+//   element is rejected with a single compare against the root, which is the
+//   common case when picking the top 100 out of millions
+// - an accepted element replaces the root and sinks, O(log k), never growing the heap
+// collector() wraps it as a java.util.stream.Collector; parallel streams fill one
+// TopK per thread and merge them by offering the smaller into the larger
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collector;
+
+public class TopK<T> {
+    private final Object[] heap;
+    private final Comparator<? super T> comparator;
+    private int heapSize = 0;
+
+    public TopK(int k, Comparator<? super T> comparator) {
+        if (k <= 0) throw new IllegalArgumentException("K must be more than 0");
+        if (comparator == null) throw new IllegalArgumentException("Comparator cannot be null");
+        this.heap = new Object[k];
+        this.comparator = comparator;
+    }
+
+    // greatest k elements by natural ordering
+    public static <T extends Comparable<? super T>> TopK<T> naturalOrder(int k) {
+        return new TopK<>(k, Comparator.naturalOrder());
+    }
+
+    // collects the k greatest elements, greatest first
+    public static <T> Collector<T, TopK<T>, List<T>> collector(int k, Comparator<? super T> comparator) {
+        return Collector.of(() -> new TopK<>(k, comparator), TopK::offer, TopK::merge, TopK::toSortedList);
+    }
+
+    public static <T extends Comparable<? super T>> Collector<T, TopK<T>, List<T>> collector(int k) {
+        return collector(k, Comparator.naturalOrder());
+    }
+
+    public int k() {
+        return heap.length;
+    }
+
+    public int size() {
+        return heapSize;
+    }
+
+    public boolean isEmpty() {
+        return heapSize == 0;
+    }
+
+    public boolean isFull() {
+        return heapSize == heap.length;
+    }
+
+    // returns whether elem is now one of the k kept
+    public boolean offer(T elem) {
+        if (elem == null) throw new IllegalArgumentException();
+        if (heapSize < heap.length) {
+            swim(heapSize++, elem);
+            return true;
+        }
+        // reject against the smallest kept element without touching the heap
+        if (comparator.compare(elem, elemAt(0)) <= 0) return false;
+        sink(0, elem);
+        return true;
+    }
+
+    // smallest element kept - once full, the bar a new element has to beat
+    public T peek() {
+        return heapSize == 0 ? null : elemAt(0);
+    }
+
+    // folds the two into one and returns it - the smaller one is offered into
+    // the larger, which is reused when it has the same k as this
+    public TopK<T> merge(TopK<T> other) {
+        if (other.heapSize > heapSize && other.heap.length == heap.length) return other.merge(this);
+        for (int i = 0; i < other.heapSize; i++) offer(other.elemAt(i));
+        return this;
+    }
+
+    // the kept elements, greatest first
+    public List<T> toSortedList() {
+        @SuppressWarnings("unchecked")
+        T[] elems = (T[]) Arrays.copyOf(heap, heapSize);
+        Arrays.sort(elems, comparator.reversed());
+        return new ArrayList<>(Arrays.asList(elems));
+    }
+
+    public void clear() {
+        Arrays.fill(heap, 0, heapSize, null);
+        heapSize = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T elemAt(int i) {
+        return (T) heap[i];
+    }
+
+    // hole sift as in IndexedMinPQ - the element is written once at its final index
+    private void swim(int k, T elem) {
+        while (k > 0) {
+            int parent = (k - 1) / 2;
+            T parentElem = elemAt(parent);
+            if (comparator.compare(elem, parentElem) >= 0) break;
+            heap[k] = parentElem;
+            k = parent;
+        }
+        heap[k] = elem;
+    }
+
+    private void sink(int k, T elem) {
+        int half = heapSize / 2; // nodes at or after half are leaves
+        while (k < half) {
+            int child = 2 * k + 1;
+            int right = child + 1;
+            if (right < heapSize && comparator.compare(elemAt(right), elemAt(child)) < 0) child = right;
+            T childElem = elemAt(child);
+            if (comparator.compare(elem, childElem) <= 0) break;
+            heap[k] = childElem;
+            k = child;
+        }
+        heap[k] = elem;
+    }
+}
@@ -0,0 +1,221 @@
+package queue;
+
+// thread safe blocking queue backed by a growable circular array
+// (like QueueArr, but the array doubles when full instead of throwing),
+// so enqueueing never allocates a per element node the way Queue's LinkedList does
+
+// consumers block in take/poll(timeout) instead of spinning on isEmpty(),
+// and an optional maximum capacity makes put block producers (backpressure)
+
+// waiting goes through a ReentrantLock and its Conditions rather than
+// synchronized/wait, which parks virtual threads without pinning their carrier thread
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+public class GrowableBlockingQueue<T> {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_ARRAY_SIZE = 1 << 30;
+
+    private Object[] items;
+    private int head = 0; // index of the next element to take
+    private int count = 0;
+    private final int maxCapacity;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    // unbounded
+    public GrowableBlockingQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    // unbounded
+    public GrowableBlockingQueue(int initialCapacity) {
+        this(initialCapacity, MAX_ARRAY_SIZE);
+    }
+
+    // bounded - put blocks and offer fails once maxCapacity elements are queued
+    public GrowableBlockingQueue(int initialCapacity, int maxCapacity) {
+        if (initialCapacity <= 0) throw new IllegalArgumentException("Invalid Capacity - must be more than 0");
+        if (maxCapacity < initialCapacity || maxCapacity > MAX_ARRAY_SIZE) {
+            throw new IllegalArgumentException("Invalid Max Capacity - must be between initial capacity and 2^30");
+        }
+        this.items = new Object[initialCapacity];
+        this.maxCapacity = maxCapacity;
+    }
+
+    // must hold the lock
+    private void enqueue(T elem) {
+        if (count == items.length) grow();
+        int tail = head + count;
+        if (tail >= items.length) tail -= items.length;
+        items[tail] = elem;
+        count++;
+        notEmpty.signal();
+    }
+
+    // must hold the lock, queue must not be empty
+    @SuppressWarnings("unchecked")
+    private T dequeue() {
+        T elem = (T) items[head];
+        items[head] = null;
+        head = head + 1 >= items.length ? 0 : head + 1;
+        count--;
+        notFull.signal();
+        return elem;
+    }
+
+    // must hold the lock
+    // unwraps the ring into a bigger array so that head starts at 0 again
+    private void grow() {
+        int newLength = (int) Math.min((long) items.length * 2, maxCapacity);
+        Object[] resized = new Object[newLength];
+        int firstPart = Math.min(count, items.length - head);
+        System.arraycopy(items, head, resized, 0, firstPart);
+        System.arraycopy(items, 0, resized, firstPart, count - firstPart);
+        items = resized;
+        head = 0;
+    }
+
+    // waits while the queue is at its maximum capacity
+    public void put(T elem) throws InterruptedException {
+        if (elem == null) throw new IllegalArgumentException();
+        lock.lockInterruptibly();
+        try {
+            while (count == maxCapacity) notFull.await();
+            enqueue(elem);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // non blocking, returns false if the queue is at its maximum capacity
+    public boolean offer(T elem) {
+        if (elem == null) throw new IllegalArgumentException();
+        lock.lock();
+        try {
+            if (count == maxCapacity) return false;
+            enqueue(elem);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // waits up to timeout for space, returns false if there still is none
+    public boolean offer(T elem, long timeout, TimeUnit unit) throws InterruptedException {
+        if (elem == null) throw new IllegalArgumentException();
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (count == maxCapacity) {
+                if (nanos <= 0) return false;
+                nanos = notFull.awaitNanos(nanos);
+            }
+            enqueue(elem);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // waits until an element is available
+    public T take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (count == 0) notEmpty.await();
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // non blocking, returns null if the queue is empty
+    public T poll() {
+        lock.lock();
+        try {
+            return count == 0 ? null : dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // waits up to timeout for an element, returns null if there still is none
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (count == 0) {
+                if (nanos <= 0) return null;
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public T peek() {
+        lock.lock();
+        try {
+            return count == 0 ? null : (T) items[head];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // removes up to limit elements under a single lock acquisition and hands them
+    // to consumer after the lock is released, returns how many were drained
+    @SuppressWarnings("unchecked")
+    public int drainTo(Consumer<? super T> consumer, int limit) {
+        Object[] batch;
+        lock.lock();
+        try {
+            int n = Math.min(count, limit);
+            if (n <= 0) return 0;
+            batch = new Object[n];
+            for (int i = 0; i < n; i++) {
+                batch[i] = items[head];
+                items[head] = null;
+                head = head + 1 >= items.length ? 0 : head + 1;
+            }
+            count -= n;
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        for (Object elem : batch) consumer.accept((T) elem);
+        return batch.length;
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            Arrays.fill(items, null);
+            head = 0;
+            count = 0;
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
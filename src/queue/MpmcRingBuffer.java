@@ -0,0 +1,222 @@
+package queue;
+
+// lock free bounded multi producer / multi consumer queue (Vyukov's algorithm)
+// implemented with an array like QueueArr, but safe to share between threads
+
+// every slot carries a sequence number that says whose turn it is:
+//   sequence == pos       the slot is free for the producer claiming position pos
+//   sequence == pos + 1   the slot holds the element for the consumer claiming pos
+// producers and consumers only CAS the tail / head counter to claim a position,
+// then publish the slot with a release write of its sequence
+
+// head and tail are padded onto separate cache lines so producers and
+// consumers do not invalidate each other's counter (false sharing)
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.function.Consumer;
+
+public class MpmcRingBuffer<T> extends MpmcRingBufferPad2 {
+    private static final VarHandle SEQUENCES = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle BUFFER = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    private final Object[] buffer;
+    private final long[] sequences;
+    private final int mask;
+
+    // capacity is rounded up to a power of 2
+    public MpmcRingBuffer(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) throw new IllegalArgumentException("Invalid Capacity - must be between 1 and 2^30");
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        if (size == 0) size = 1;
+        buffer = new Object[size];
+        sequences = new long[size];
+        mask = size - 1;
+        for (int i = 0; i < size; i++) sequences[i] = i;
+    }
+
+    public int capacity() {
+        return buffer.length;
+    }
+
+    private long sequence(long pos) {
+        return (long) SEQUENCES.getAcquire(sequences, (int) pos & mask);
+    }
+
+    private void publish(long pos, long sequence) {
+        SEQUENCES.setRelease(sequences, (int) pos & mask, sequence);
+    }
+
+    // non blocking, returns false if the buffer is full
+    public boolean offer(T elem) {
+        if (elem == null) throw new IllegalArgumentException();
+        long pos = tail;
+        while (true) {
+            long dif = sequence(pos) - pos;
+            if (dif == 0) {
+                if (casTail(pos, pos + 1)) break;
+                pos = tail;
+            } else if (dif < 0) {
+                // the slot still holds the element from the previous lap
+                return false;
+            } else {
+                // another producer claimed pos already
+                pos = tail;
+            }
+        }
+        BUFFER.setOpaque(buffer, (int) pos & mask, elem);
+        publish(pos, pos + 1);
+        return true;
+    }
+
+    // offers elems[offset .. offset + length) in order and returns how many fit
+    // a whole run of free slots is claimed with a single CAS of the tail
+    public int offerBatch(T[] elems, int offset, int length) {
+        // reject nulls before claiming anything - a claimed slot that is never
+        // published would block every consumer at that position for good
+        for (int i = offset; i < offset + length; i++) {
+            if (elems[i] == null) throw new IllegalArgumentException();
+        }
+        int total = 0;
+        while (total < length) {
+            long pos = tail;
+            int free = 0;
+            while (free < length - total && sequence(pos + free) == pos + free) free++;
+            if (free == 0) {
+                if (sequence(pos) - pos < 0) return total; // full
+                continue; // stale tail, retry
+            }
+            if (!casTail(pos, pos + free)) continue;
+            for (int i = 0; i < free; i++) {
+                BUFFER.setOpaque(buffer, (int) (pos + i) & mask, elems[offset + total + i]);
+                publish(pos + i, pos + i + 1);
+            }
+            total += free;
+        }
+        return total;
+    }
+
+    public int offerBatch(T[] elems) {
+        return offerBatch(elems, 0, elems.length);
+    }
+
+    // non blocking, returns null if the buffer is empty
+    public T poll() {
+        long pos = head;
+        while (true) {
+            long dif = sequence(pos) - (pos + 1);
+            if (dif == 0) {
+                if (casHead(pos, pos + 1)) break;
+                pos = head;
+            } else if (dif < 0) {
+                // nothing has been published at pos yet
+                return null;
+            } else {
+                // another consumer claimed pos already
+                pos = head;
+            }
+        }
+        return take(pos);
+    }
+
+    // hands up to limit elements to consumer and returns how many were drained
+    // a whole run of ready slots is claimed with a single CAS of the head
+    public int drainTo(Consumer<? super T> consumer, int limit) {
+        int total = 0;
+        while (total < limit) {
+            long pos = head;
+            int ready = 0;
+            while (ready < limit - total && sequence(pos + ready) == pos + ready + 1) ready++;
+            if (ready == 0) {
+                if (sequence(pos) - (pos + 1) < 0) return total; // empty
+                continue; // stale head, retry
+            }
+            if (!casHead(pos, pos + ready)) continue;
+            int taken = 0;
+            try {
+                while (taken < ready) consumer.accept(take(pos + taken++));
+            } finally {
+                // if consumer threw, still free the rest of the claimed slots so
+                // producers can wrap around - their elements are dropped
+                while (taken < ready) take(pos + taken++);
+            }
+            total += ready;
+        }
+        return total;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T take(long pos) {
+        int index = (int) pos & mask;
+        T elem = (T) BUFFER.getOpaque(buffer, index);
+        BUFFER.setOpaque(buffer, index, null);
+        // free the slot for the producer one lap ahead
+        publish(pos, pos + buffer.length);
+        return elem;
+    }
+
+    // only a snapshot while other threads are active
+    public int size() {
+        while (true) {
+            long h = head;
+            long t = tail;
+            if (h == head) return (int) Math.max(0, Math.min(t - h, buffer.length));
+        }
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+}
+
+// padding superclasses: fields of a superclass are laid out before those of
+// its subclass, so each counter ends up with 64+ bytes of padding on either side
+abstract class MpmcRingBufferPad0 {
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+}
+
+abstract class MpmcRingBufferTail extends MpmcRingBufferPad0 {
+    private static final VarHandle TAIL;
+
+    static {
+        try {
+            TAIL = MethodHandles.lookup().findVarHandle(MpmcRingBufferTail.class, "tail", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // next position a producer will claim
+    volatile long tail = 0;
+
+    final boolean casTail(long expected, long value) {
+        return TAIL.compareAndSet(this, expected, value);
+    }
+}
+
+abstract class MpmcRingBufferPad1 extends MpmcRingBufferTail {
+    long p10, p11, p12, p13, p14, p15, p16, p17;
+}
+
+abstract class MpmcRingBufferHead extends MpmcRingBufferPad1 {
+    private static final VarHandle HEAD;
+
+    static {
+        try {
+            HEAD = MethodHandles.lookup().findVarHandle(MpmcRingBufferHead.class, "head", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // next position a consumer will claim
+    volatile long head = 0;
+
+    final boolean casHead(long expected, long value) {
+        return HEAD.compareAndSet(this, expected, value);
+    }
+}
+
+abstract class MpmcRingBufferPad2 extends MpmcRingBufferHead {
+    long p20, p21, p22, p23, p24, p25, p26, p27;
+}
@@ -21,10 +21,10 @@ public class Queue<T> implements Iterable<T> {
     }
 
     // aka poll
-    public void dequeue() {
+    public T dequeue() {
         // remove from start of list
         if (isEmpty()) throw new RuntimeException("Queue Empty");
-        list.removeFirst();
+        return list.removeFirst();
     }
 
     public T peek() {
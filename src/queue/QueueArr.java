@@ -18,7 +18,7 @@ public class QueueArr<T> {
     }
 
     public void enqueue(T elem) {
-        if (length > arr.length) throw new IndexOutOfBoundsException();
+        if (length == arr.length) throw new IndexOutOfBoundsException();
         tail = tail + 1 >= arr.length ? 0 : tail + 1;
         arr[tail] = elem;
         length++;
@@ -27,8 +27,8 @@ public class QueueArr<T> {
     public T dequeue() {
         if (isEmpty()) throw new RuntimeException("Queue is empty");
         T data = arr[head];
-        head = head >= arr.length ? 0 : head;
-        arr[head++] = null;
+        arr[head] = null;
+        head = head + 1 >= arr.length ? 0 : head + 1;
         length--;
         return data;
     }
@@ -0,0 +1,192 @@
+package queue;
+
+// bounded single producer / single consumer queue
+// exactly one thread may call the offer methods and exactly one (other) thread
+// may call the poll/drain methods - with that restriction no CAS is needed at all
+
+// each side keeps a private cached copy of the other side's counter and only
+// re-reads the shared counter when the cache says the queue looks full (producer)
+// or empty (consumer), so most operations touch no shared cache line except the slot
+// counters are published with release writes (lazySet) instead of full volatile writes
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.function.Consumer;
+
+public class SpscQueue<T> extends SpscQueuePad2 {
+    private final Object[] buffer;
+    private final int mask;
+
+    // capacity is rounded up to a power of 2
+    public SpscQueue(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) throw new IllegalArgumentException("Invalid Capacity - must be between 1 and 2^30");
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        if (size == 0) size = 1;
+        buffer = new Object[size];
+        mask = size - 1;
+    }
+
+    public int capacity() {
+        return buffer.length;
+    }
+
+    // producer only - returns false if the queue is full
+    public boolean offer(T elem) {
+        if (elem == null) throw new IllegalArgumentException();
+        long t = tail;
+        if (t - headCache >= buffer.length) {
+            headCache = loadHead();
+            if (t - headCache >= buffer.length) return false;
+        }
+        buffer[(int) t & mask] = elem;
+        publishTail(t + 1);
+        return true;
+    }
+
+    // producer only - offers elems[offset .. offset + length) and returns how many fit
+    // the tail is published once for the whole batch
+    public int offerBatch(T[] elems, int offset, int length) {
+        long t = tail;
+        long free = buffer.length - (t - headCache);
+        if (free < length) {
+            headCache = loadHead();
+            free = buffer.length - (t - headCache);
+        }
+        int n = (int) Math.min(free, length);
+        for (int i = 0; i < n; i++) {
+            T elem = elems[offset + i];
+            if (elem == null) {
+                n = i;
+                publishTail(t + n);
+                throw new IllegalArgumentException();
+            }
+            buffer[(int) (t + i) & mask] = elem;
+        }
+        if (n > 0) publishTail(t + n);
+        return n;
+    }
+
+    // consumer only - returns null if the queue is empty
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        long h = head;
+        if (h >= tailCache) {
+            tailCache = loadTail();
+            if (h >= tailCache) return null;
+        }
+        int index = (int) h & mask;
+        T elem = (T) buffer[index];
+        buffer[index] = null;
+        publishHead(h + 1);
+        return elem;
+    }
+
+    // consumer only - returns null if the queue is empty
+    @SuppressWarnings("unchecked")
+    public T peek() {
+        long h = head;
+        if (h >= tailCache) {
+            tailCache = loadTail();
+            if (h >= tailCache) return null;
+        }
+        return (T) buffer[(int) h & mask];
+    }
+
+    // consumer only - hands up to limit elements to consumer and returns how many were drained
+    // the head is published once for the whole batch (or on the way out if consumer throws)
+    @SuppressWarnings("unchecked")
+    public int drain(Consumer<? super T> consumer, int limit) {
+        long h = head;
+        if (tailCache - h < limit) tailCache = loadTail();
+        int n = (int) Math.min(tailCache - h, limit);
+        int i = 0;
+        try {
+            for (; i < n; i++) {
+                int index = (int) (h + i) & mask;
+                T elem = (T) buffer[index];
+                buffer[index] = null;
+                consumer.accept(elem);
+            }
+        } finally {
+            if (n > 0) publishHead(h + (i < n ? i + 1 : n));
+        }
+        return n;
+    }
+
+    // only a snapshot unless called from one of the two owning threads while the other is idle
+    public int size() {
+        while (true) {
+            long h = loadHead();
+            long t = loadTail();
+            if (h == loadHead()) return (int) Math.max(0, Math.min(t - h, buffer.length));
+        }
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+}
+
+// padding superclasses keep the producer's fields and the consumer's fields
+// on different cache lines (superclass fields are laid out first)
+abstract class SpscQueuePad0 {
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+}
+
+abstract class SpscQueueProducerFields extends SpscQueuePad0 {
+    static final VarHandle TAIL;
+
+    static {
+        try {
+            TAIL = MethodHandles.lookup().findVarHandle(SpscQueueProducerFields.class, "tail", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // written by the producer only
+    long tail = 0;
+    // producer's last seen value of head
+    long headCache = 0;
+
+    final void publishTail(long value) {
+        TAIL.setRelease(this, value);
+    }
+
+    final long loadTail() {
+        return (long) TAIL.getAcquire(this);
+    }
+}
+
+abstract class SpscQueuePad1 extends SpscQueueProducerFields {
+    long p10, p11, p12, p13, p14, p15, p16, p17;
+}
+
+abstract class SpscQueueConsumerFields extends SpscQueuePad1 {
+    static final VarHandle HEAD;
+
+    static {
+        try {
+            HEAD = MethodHandles.lookup().findVarHandle(SpscQueueConsumerFields.class, "head", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // written by the consumer only
+    long head = 0;
+    // consumer's last seen value of tail
+    long tailCache = 0;
+
+    final void publishHead(long value) {
+        HEAD.setRelease(this, value);
+    }
+
+    final long loadHead() {
+        return (long) HEAD.getAcquire(this);
+    }
+}
+
+abstract class SpscQueuePad2 extends SpscQueueConsumerFields {
+    long p20, p21, p22, p23, p24, p25, p26, p27;
+}
@@ -0,0 +1,133 @@
+package stack;
+
+// lock free stack (Treiber stack) with an elimination array
+// the top of the stack is a single reference updated with CAS; under heavy
+// contention most of those CASes fail, so a thread whose CAS fails goes to a
+// random slot of the elimination array instead and tries to meet a thread doing
+// the opposite operation - a push and a pop that meet cancel out without ever
+// touching the top of the stack
+
+import java.util.EmptyStackException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+public class ConcurrentStack<T> {
+    // how many times a waiting push spins for a partner before giving up
+    private static final int ELIMINATION_SPINS = 64;
+
+    private final AtomicReference<Node<T>> top = new AtomicReference<>();
+    // each slot is empty (null), or holds a waiting push's offer
+    private final AtomicReferenceArray<Exchange<T>> elimination;
+
+    private static final class Node<T> {
+        final T data;
+        Node<T> next;
+
+        Node(T data) {
+            this.data = data;
+        }
+    }
+
+    // a push parked in an elimination slot, a pop takes it by CASing taken
+    private static final class Exchange<T> {
+        final T data;
+        volatile boolean taken = false;
+
+        Exchange(T data) {
+            this.data = data;
+        }
+    }
+
+    public ConcurrentStack() {
+        this(Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    }
+
+    public ConcurrentStack(int eliminationSlots) {
+        if (eliminationSlots <= 0) throw new IllegalArgumentException("Invalid Elimination Slots - must be more than 0");
+        elimination = new AtomicReferenceArray<>(eliminationSlots);
+    }
+
+    public void push(T elem) {
+        if (elem == null) throw new IllegalArgumentException();
+        Node<T> node = new Node<>(elem);
+        while (true) {
+            Node<T> oldTop = top.get();
+            node.next = oldTop;
+            if (top.compareAndSet(oldTop, node)) return;
+            // contention - try to hand the element straight to a pop instead
+            if (tryEliminatePush(elem)) return;
+        }
+    }
+
+    // returns the top element, or null if the stack is empty
+    // never throws, so the hot path never builds an exception
+    public T popOrNull() {
+        while (true) {
+            Node<T> oldTop = top.get();
+            if (oldTop == null) return null;
+            if (top.compareAndSet(oldTop, oldTop.next)) return oldTop.data;
+            // contention - try to take an element from a waiting push instead
+            T elem = tryEliminatePop();
+            if (elem != null) return elem;
+        }
+    }
+
+    public T pop() {
+        T elem = popOrNull();
+        if (elem == null) throw new EmptyStackException();
+        return elem;
+    }
+
+    // returns the top element, or null if the stack is empty
+    public T peekOrNull() {
+        Node<T> node = top.get();
+        return node == null ? null : node.data;
+    }
+
+    public T peek() {
+        T elem = peekOrNull();
+        if (elem == null) throw new EmptyStackException();
+        return elem;
+    }
+
+    public boolean isEmpty() {
+        return top.get() == null;
+    }
+
+    // walks the whole stack, only a snapshot while other threads are active
+    public int size() {
+        int size = 0;
+        for (Node<T> node = top.get(); node != null; node = node.next) size++;
+        return size;
+    }
+
+    private int randomSlot() {
+        return ThreadLocalRandom.current().nextInt(elimination.length());
+    }
+
+    // parks the element in a free slot for a while, true if a pop took it
+    private boolean tryEliminatePush(T elem) {
+        int slot = randomSlot();
+        Exchange<T> offer = new Exchange<>(elem);
+        if (!elimination.compareAndSet(slot, null, offer)) return false;
+        for (int i = 0; i < ELIMINATION_SPINS; i++) {
+            if (offer.taken) break;
+            Thread.onSpinWait();
+        }
+        // withdraw the offer - if that fails a pop removed it, so it was taken
+        if (elimination.compareAndSet(slot, offer, null)) return false;
+        return true;
+    }
+
+    // takes an element parked by a push, null if there is none in the chosen slot
+    private T tryEliminatePop() {
+        int slot = randomSlot();
+        Exchange<T> offer = elimination.get(slot);
+        if (offer != null && elimination.compareAndSet(slot, offer, null)) {
+            offer.taken = true;
+            return offer.data;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,84 @@
+package stack;
+
+// primitive int stack backed by a growable int[]
+// pushing never allocates a node or an Integer, and clear() only resets the
+// size, so one instance can be reused (e.g. as the explicit stack of an
+// iterative DFS) with zero allocation once it has grown to its working size
+
+import arrays.ArrayCapacity;
+
+import java.util.Arrays;
+import java.util.EmptyStackException;
+
+public class IntStack {
+    private int[] arr;
+    private int size = 0;
+
+    public IntStack() {
+        this(16);
+    }
+
+    public IntStack(int initialCapacity) {
+        if (initialCapacity < 0) throw new IllegalArgumentException("Invalid Capacity - cannot be less than 0");
+        arr = new int[initialCapacity];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void push(int elem) {
+        if (size == arr.length) grow(size + 1);
+        arr[size++] = elem;
+    }
+
+    // pushes elems in order, so the last one ends up on top
+    public void pushAll(int[] elems) {
+        pushAll(elems, 0, elems.length);
+    }
+
+    public void pushAll(int[] elems, int offset, int length) {
+        if (size + length > arr.length) grow(size + length);
+        System.arraycopy(elems, offset, arr, size, length);
+        size += length;
+    }
+
+    public int pop() {
+        if (isEmpty()) throw new EmptyStackException();
+        return arr[--size];
+    }
+
+    public int peek() {
+        if (isEmpty()) throw new EmptyStackException();
+        return arr[size - 1];
+    }
+
+    // pops up to buf.length elements into buf in pop order (buf[0] was the top)
+    // and returns how many were popped
+    public int popInto(int[] buf) {
+        int n = Math.min(size, buf.length);
+        for (int i = 0; i < n; i++) buf[i] = arr[--size];
+        return n;
+    }
+
+    // O(1) - the old values are simply overwritten by later pushes
+    public void clear() {
+        size = 0;
+    }
+
+    // resize exponentially by factor of 2 to keep push at amortized O(1)
+    private void grow(int minCapacity) {
+        int newCapacity = ArrayCapacity.grownCapacity(arr.length, minCapacity);
+        arr = Arrays.copyOf(arr, newCapacity);
+    }
+
+    @Override
+    public String toString() {
+        // bottom to top
+        return Arrays.toString(Arrays.copyOf(arr, size));
+    }
+}
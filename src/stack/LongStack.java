@@ -0,0 +1,84 @@
+package stack;
+
+// primitive long stack backed by a growable long[]
+// pushing never allocates a node or a Long, and clear() only resets the
+// size, so one instance can be reused (e.g. as the explicit stack of an
+// iterative DFS) with zero allocation once it has grown to its working size
+
+import arrays.ArrayCapacity;
+
+import java.util.Arrays;
+import java.util.EmptyStackException;
+
+public class LongStack {
+    private long[] arr;
+    private int size = 0;
+
+    public LongStack() {
+        this(16);
+    }
+
+    public LongStack(int initialCapacity) {
+        if (initialCapacity < 0) throw new IllegalArgumentException("Invalid Capacity - cannot be less than 0");
+        arr = new long[initialCapacity];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void push(long elem) {
+        if (size == arr.length) grow(size + 1);
+        arr[size++] = elem;
+    }
+
+    // pushes elems in order, so the last one ends up on top
+    public void pushAll(long[] elems) {
+        pushAll(elems, 0, elems.length);
+    }
+
+    public void pushAll(long[] elems, int offset, int length) {
+        if (size + length > arr.length) grow(size + length);
+        System.arraycopy(elems, offset, arr, size, length);
+        size += length;
+    }
+
+    public long pop() {
+        if (isEmpty()) throw new EmptyStackException();
+        return arr[--size];
+    }
+
+    public long peek() {
+        if (isEmpty()) throw new EmptyStackException();
+        return arr[size - 1];
+    }
+
+    // pops up to buf.length elements into buf in pop order (buf[0] was the top)
+    // and returns how many were popped
+    public int popInto(long[] buf) {
+        int n = Math.min(size, buf.length);
+        for (int i = 0; i < n; i++) buf[i] = arr[--size];
+        return n;
+    }
+
+    // O(1) - the old values are simply overwritten by later pushes
+    public void clear() {
+        size = 0;
+    }
+
+    // resize exponentially by factor of 2 to keep push at amortized O(1)
+    private void grow(int minCapacity) {
+        int newCapacity = ArrayCapacity.grownCapacity(arr.length, minCapacity);
+        arr = Arrays.copyOf(arr, newCapacity);
+    }
+
+    @Override
+    public String toString() {
+        // bottom to top
+        return Arrays.toString(Arrays.copyOf(arr, size));
+    }
+}
@@ -12,6 +12,10 @@ public class Stack<T> implements Iterable<T>{
     // Java linked list is a doubly linked list by default impl
     private LinkedList<T> list = new LinkedList<>();
 
+    public Stack() {
+
+    }
+
     public Stack(T firstElem) {
         push(firstElem);
     }
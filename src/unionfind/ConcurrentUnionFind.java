@@ -0,0 +1,125 @@
+package unionfind;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// lock free union find that many threads can union/find on at once
+// rootId lives in an AtomicIntegerArray and every change to it is a CAS:
+// - union links one root under the other with a CAS that only succeeds if the
+//   node is still a root, so two racing unions can never both link it
+// - find does path halving (point a node at its grandparent) with CAS, which is
+//   safe to race since it only ever moves a node closer to its root
+
+// instead of union by size (sizes are not stable while other threads link),
+// roots are linked by a fixed pseudo random priority per node, which keeps the
+// expected tree height logarithmic in the same way as union by rank
+public class ConcurrentUnionFind {
+    private final int size;
+
+    // point to the parent node of i, if i points to itself it is a root node
+    private final AtomicIntegerArray rootId;
+
+    // size credits - every node starts with 1, and credits are moved up to the
+    // root whenever a node stops being a root, so the root holds the component size
+    private final AtomicIntegerArray sz;
+
+    // number of grouped components = root nodes
+    private final AtomicInteger numComponents;
+
+    public ConcurrentUnionFind(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Size must be more than 0");
+        }
+        this.size = size;
+        numComponents = new AtomicInteger(size);
+        rootId = new AtomicIntegerArray(size);
+        sz = new AtomicIntegerArray(size);
+        for (int i = 0; i < size; i++) {
+            rootId.setPlain(i, i);
+            sz.setPlain(i, 1);
+        }
+    }
+
+    // find the group the node belongs to
+    public int find(int node) {
+        while (true) {
+            int parent = rootId.get(node);
+            if (parent == node) return node;
+            int grandParent = rootId.get(parent);
+            // path halving - a failed CAS just means another thread already moved it
+            if (parent != grandParent) rootId.compareAndSet(node, parent, grandParent);
+            node = grandParent;
+        }
+    }
+
+    // check if two nodes are connected
+    // retries if a root found along the way was linked in the meantime
+    public boolean connected(int node1, int node2) {
+        while (true) {
+            int root1 = find(node1);
+            int root2 = find(node2);
+            if (root1 == root2) return true;
+            if (rootId.get(root1) == root1) return false;
+        }
+    }
+
+    // returns true if the call merged two components
+    public boolean union(int node1, int node2) {
+        while (true) {
+            int root1 = find(node1);
+            int root2 = find(node2);
+
+            // base case if they match
+            if (root1 == root2) return false;
+
+            // link the lower priority root under the higher one
+            if (isLess(root2, root1)) {
+                int tmp = root1;
+                root1 = root2;
+                root2 = tmp;
+            }
+            // fails if root1 was linked by another thread since find
+            if (rootId.compareAndSet(root1, root1, root2)) {
+                numComponents.decrementAndGet();
+                credit(root2, sz.getAndSet(root1, 0));
+                return true;
+            }
+        }
+    }
+
+    // adds amount to node's credit and keeps pushing it up until it sits on a root
+    private void credit(int node, int amount) {
+        while (amount != 0) {
+            sz.addAndGet(node, amount);
+            if (rootId.get(node) == node) return;
+            // node was linked meanwhile - the linker may or may not have seen our
+            // credit, so move whatever is left on node ourselves
+            amount = sz.getAndSet(node, 0);
+            node = find(node);
+        }
+    }
+
+    private static boolean isLess(int node1, int node2) {
+        int p1 = priority(node1);
+        int p2 = priority(node2);
+        return p1 < p2 || (p1 == p2 && node1 < node2);
+    }
+
+    private static int priority(int node) {
+        int h = node * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    // exact once concurrent unions have returned, otherwise a lower bound in flight
+    public int componentSize(int node) {
+        return sz.get(find(node));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int components() {
+        return numComponents.get();
+    }
+}
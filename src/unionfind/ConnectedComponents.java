@@ -0,0 +1,174 @@
+package unionfind;
+
+// connected components of a graph stored as a binary edge list
+// the file is memory mapped and split into chunks of edges, each chunk is
+// unioned by its own fork join task, and the result is a dense component label
+// per vertex plus the component sizes
+
+// edge file layout: consecutive (from, to) pairs, little endian, either two
+// ints (8 bytes per edge) or two longs (16 bytes per edge)
+
+// all tasks union into one shared ConcurrentUnionFind - a separate forest per
+// task would cost numVertices ints per task before the merge, which does not
+// fit for graphs with billions of edges, while the lock free forest merges the
+// tasks' work as it happens
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.IntStream;
+
+public class ConnectedComponents {
+    // edges unioned by one leaf task (and mapped at once)
+    static final long EDGES_PER_TASK = 1 << 20;
+
+    public enum EdgeFormat {
+        INT_PAIRS(2 * Integer.BYTES),
+        LONG_PAIRS(2 * Long.BYTES);
+
+        final int edgeBytes;
+
+        EdgeFormat(int edgeBytes) {
+            this.edgeBytes = edgeBytes;
+        }
+    }
+
+    // dense label 0..components-1 of every vertex
+    private final int[] labels;
+    // number of vertices in each component, indexed by label
+    private final int[] componentSizes;
+
+    private ConnectedComponents(int[] labels, int[] componentSizes) {
+        this.labels = labels;
+        this.componentSizes = componentSizes;
+    }
+
+    public static ConnectedComponents fromEdgeFile(Path file, int numVertices, EdgeFormat format) throws IOException {
+        return fromEdgeFile(file, numVertices, format, ForkJoinPool.commonPool());
+    }
+
+    public static ConnectedComponents fromEdgeFile(Path file, int numVertices, EdgeFormat format, ForkJoinPool pool) throws IOException {
+        ConcurrentUnionFind forest = new ConcurrentUnionFind(numVertices);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long bytes = channel.size();
+            if (bytes % format.edgeBytes != 0) {
+                throw new IllegalArgumentException("File size " + bytes + " is not a multiple of the edge size " + format.edgeBytes);
+            }
+            pool.invoke(new UnionTask(channel, format, forest, numVertices, 0, bytes / format.edgeBytes));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return label(forest, numVertices, pool);
+    }
+
+    // turns the roots of the forest into dense labels and counts the component sizes
+    private static ConnectedComponents label(ConcurrentUnionFind forest, int numVertices, ForkJoinPool pool) {
+        int[] labels = new int[numVertices];
+        // first pass: root of every vertex, in parallel
+        pool.submit(() -> IntStream.range(0, numVertices).parallel().forEach(v -> labels[v] = forest.find(v))).join();
+
+        // number the components in order of their lowest vertex, indexed by root
+        int[] componentSizes = new int[forest.components()];
+        int[] rootLabel = new int[numVertices];
+        Arrays.fill(rootLabel, -1);
+        int next = 0;
+        for (int v = 0; v < numVertices; v++) {
+            int root = labels[v];
+            if (rootLabel[root] == -1) {
+                componentSizes[next] = forest.componentSize(root);
+                rootLabel[root] = next++;
+            }
+        }
+        pool.submit(() -> IntStream.range(0, numVertices).parallel().forEach(v -> labels[v] = rootLabel[labels[v]])).join();
+        return new ConnectedComponents(labels, componentSizes);
+    }
+
+    private static final class UnionTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final FileChannel channel;
+        private final EdgeFormat format;
+        private final ConcurrentUnionFind forest;
+        private final int numVertices;
+        private final long firstEdge;
+        private final long endEdge;
+
+        UnionTask(FileChannel channel, EdgeFormat format, ConcurrentUnionFind forest, int numVertices, long firstEdge, long endEdge) {
+            this.channel = channel;
+            this.format = format;
+            this.forest = forest;
+            this.numVertices = numVertices;
+            this.firstEdge = firstEdge;
+            this.endEdge = endEdge;
+        }
+
+        @Override
+        protected void compute() {
+            long count = endEdge - firstEdge;
+            if (count > EDGES_PER_TASK) {
+                long mid = firstEdge + count / 2;
+                invokeAll(new UnionTask(channel, format, forest, numVertices, firstEdge, mid),
+                        new UnionTask(channel, format, forest, numVertices, mid, endEdge));
+                return;
+            }
+            MappedByteBuffer buf;
+            try {
+                buf = channel.map(FileChannel.MapMode.READ_ONLY, firstEdge * format.edgeBytes, count * format.edgeBytes);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            buf.order(ByteOrder.LITTLE_ENDIAN);
+            if (format == EdgeFormat.INT_PAIRS) {
+                for (int i = 0, end = (int) count * 8; i < end; i += 8) {
+                    forest.union(vertex(buf.getInt(i)), vertex(buf.getInt(i + 4)));
+                }
+            } else {
+                for (int i = 0, end = (int) count * 16; i < end; i += 16) {
+                    forest.union(vertex(buf.getLong(i)), vertex(buf.getLong(i + 8)));
+                }
+            }
+        }
+
+        private int vertex(long id) {
+            if (id < 0 || id >= numVertices) throw new IllegalArgumentException("Vertex " + id + " out of range");
+            return (int) id;
+        }
+    }
+
+    public int vertices() {
+        return labels.length;
+    }
+
+    public int components() {
+        return componentSizes.length;
+    }
+
+    public int label(int vertex) {
+        return labels[vertex];
+    }
+
+    // dense component label of every vertex, components are numbered in order of their lowest vertex
+    public int[] labels() {
+        return labels.clone();
+    }
+
+    public int[] componentSizes() {
+        return componentSizes.clone();
+    }
+
+    // component size -> number of components of that size
+    public SortedMap<Integer, Integer> sizeHistogram() {
+        SortedMap<Integer, Integer> histogram = new TreeMap<>();
+        for (int size : componentSizes) histogram.merge(size, 1, Integer::sum);
+        return histogram;
+    }
+}
@@ -0,0 +1,212 @@
+package unionfind;
+
+import arrays.ArrayCapacity;
+
+import java.util.Arrays;
+
+// union find over arbitrary keys instead of dense 0..size-1 ints
+// a key gets the next dense id the first time it is seen, so elements can be
+// streamed in without knowing how many there will be, and the parent/size
+// arrays grow by doubling like DynamicArray
+
+// key -> id goes through an open addressing index of int slots (linear probing,
+// power of 2 capacity) that points into the dense key array, so there is no
+// Integer boxing and a key is looked up once per operation
+public class KeyedUnionFind<K> {
+    private static final int FREE = -1;
+    // largest power of 2 index, so it holds at most 2^30 - 1 keys plus a free slot
+    private static final int MAX_INDEX = 1 << 30;
+
+    // dense key storage, keys[id] is the key with that id
+    private Object[] keys;
+    // cached key hashes, so growing the index never calls hashCode again
+    private int[] hashes;
+
+    // maintain an array with sizes of each component
+    private int[] sz;
+
+    // point to the parent node of i, if i points to itself it is a root node
+    private int[] rootId;
+
+    // open addressing index: slot -> id, FREE if empty
+    private int[] index;
+    private int indexMask;
+
+    // number of elements
+    private int size = 0;
+
+    // number of grouped components = root nodes
+    private int numComponents = 0;
+
+    public KeyedUnionFind() {
+        this(16);
+    }
+
+    public KeyedUnionFind(int expectedSize) {
+        if (expectedSize < 0) throw new IllegalArgumentException("Size must not be less than 0");
+        int capacity = Math.max(expectedSize, 2);
+        keys = new Object[capacity];
+        hashes = new int[capacity];
+        sz = new int[capacity];
+        rootId = new int[capacity];
+        allocateIndex(capacity);
+    }
+
+    // index is kept at most half full, until it reaches MAX_INDEX slots
+    private void allocateIndex(int elements) {
+        long wanted = Math.max(elements, 2) * 2L;
+        int slots = wanted >= MAX_INDEX ? MAX_INDEX : Integer.highestOneBit((int) wanted - 1) << 1;
+        index = new int[slots];
+        Arrays.fill(index, FREE);
+        indexMask = slots - 1;
+        for (int id = 0; id < size; id++) {
+            int i = hashes[id] & indexMask;
+            while (index[i] != FREE) i = (i + 1) & indexMask;
+            index[i] = id;
+        }
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    // id of key, or -1 if it has never been added
+    public int idOf(K key) {
+        if (key == null) return -1;
+        int h = hash(key);
+        for (int i = h & indexMask; index[i] != FREE; i = (i + 1) & indexMask) {
+            int id = index[i];
+            if (hashes[id] == h && key.equals(keys[id])) return id;
+        }
+        return -1;
+    }
+
+    // id of key, adding it as a new singleton component if it has never been seen
+    public int id(K key) {
+        if (key == null) throw new IllegalArgumentException();
+        int h = hash(key);
+        int i = h & indexMask;
+        for (; index[i] != FREE; i = (i + 1) & indexMask) {
+            int id = index[i];
+            if (hashes[id] == h && key.equals(keys[id])) return id;
+        }
+
+        // linear probing needs a free slot in the index to stop at
+        if (size >= MAX_INDEX - 1) throw new OutOfMemoryError("KeyedUnionFind is full");
+        if (size == keys.length) growElements();
+        int id = size++;
+        keys[id] = key;
+        hashes[id] = h;
+        rootId[id] = id; // a new element is its own root
+        sz[id] = 1;
+        numComponents++;
+
+        if (size > index.length >>> 1 && index.length < MAX_INDEX) allocateIndex(size);
+        else index[i] = id;
+        return id;
+    }
+
+    @SuppressWarnings("unchecked")
+    public K key(int id) {
+        if (id < 0 || id >= size) throw new IndexOutOfBoundsException();
+        return (K) keys[id];
+    }
+
+    // returns true if key was not seen before
+    public boolean add(K key) {
+        int before = size;
+        id(key);
+        return size != before;
+    }
+
+    public boolean contains(K key) {
+        return idOf(key) != -1;
+    }
+
+    // grow exponentially by a factor of 2 to keep adding new keys at amortized O(1)
+    private void growElements() {
+        int capacity = ArrayCapacity.grownCapacity(keys.length, size + 1);
+        keys = Arrays.copyOf(keys, capacity);
+        hashes = Arrays.copyOf(hashes, capacity);
+        sz = Arrays.copyOf(sz, capacity);
+        rootId = Arrays.copyOf(rootId, capacity);
+    }
+
+    // find the root id of the group the id belongs to, with path compression
+    private int findId(int node) {
+        int root = node;
+        while (root != rootId[root]) {
+            root = rootId[root];
+        }
+        while (node != root) {
+            int next = rootId[node];
+            rootId[node] = root;
+            node = next;
+        }
+        return root;
+    }
+
+    // representative key of the group key belongs to, null if key was never added
+    @SuppressWarnings("unchecked")
+    public K find(K key) {
+        int id = idOf(key);
+        return id == -1 ? null : (K) keys[findId(id)];
+    }
+
+    // check if two keys are connected, a key that was never added is only connected to itself
+    public boolean connected(K key1, K key2) {
+        int id1 = idOf(key1);
+        int id2 = idOf(key2);
+        if (id1 == -1 || id2 == -1) return key1 != null && key1.equals(key2);
+        return findId(id1) == findId(id2);
+    }
+
+    // 0 if key was never added
+    public int componentSize(K key) {
+        int id = idOf(key);
+        return id == -1 ? 0 : sz[findId(id)];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int components() {
+        return numComponents;
+    }
+
+    // adds either key if it is new, then merges their components
+    // returns true if two components were merged
+    public boolean union(K key1, K key2) {
+        int id1 = id(key1);
+        int id2 = id(key2);
+        return unionIds(id1, id2);
+    }
+
+    private boolean unionIds(int node1, int node2) {
+        int root1 = findId(node1);
+        int root2 = findId(node2);
+        if (root1 == root2) return false;
+
+        // map the root of the smaller component under the root of the bigger one
+        if (sz[root1] < sz[root2]) {
+            sz[root2] += sz[root1];
+            rootId[root1] = root2;
+        } else {
+            sz[root1] += sz[root2];
+            rootId[root2] = root1;
+        }
+        numComponents--;
+        return true;
+    }
+
+    // bulk ingestion of edges, returns how many merges happened
+    public int unionAll(Iterable<? extends Pair<? extends K, ? extends K>> pairs) {
+        int merged = 0;
+        for (Pair<? extends K, ? extends K> pair : pairs) {
+            if (union(pair.first(), pair.second())) merged++;
+        }
+        return merged;
+    }
+}
@@ -0,0 +1,167 @@
+package unionfind;
+
+import arrays.IntDynamicArray;
+import hashtables.LongObjectHashMap;
+import stack.IntStack;
+
+// answers connectivity queries over a stream of edge insertions and deletions,
+// once the whole stream is known (offline)
+
+// every edge is alive over an interval of operation indexes [added, removed),
+// and that interval is stored in the O(log q) segment tree nodes covering it
+// a depth first walk of the segment tree unions a node's edges on the way down
+// and rolls them back on the way up, so at each leaf exactly the edges alive at
+// that time are unioned - O((n + q) log q log n) overall, with no rebuilds
+
+// usage: record operations with addEdge / removeEdge / queryConnected /
+// queryComponents, then call run() once to get every answer
+public class OfflineDynamicConnectivity {
+    private static final int ADD = 0, REMOVE = 1, CONNECTED = 2, COMPONENTS = 3;
+
+    private final int numVertices;
+
+    // recorded operations, one entry per time step
+    private final IntDynamicArray opType = new IntDynamicArray();
+    private final IntDynamicArray opU = new IntDynamicArray();
+    private final IntDynamicArray opV = new IntDynamicArray();
+    private int numQueries = 0;
+
+    // edge -> times it was added and is not removed yet (a multiset, so parallel edges work)
+    private final LongObjectHashMap<IntStack> openEdges = new LongObjectHashMap<>();
+
+    public OfflineDynamicConnectivity(int numVertices) {
+        if (numVertices <= 0) throw new IllegalArgumentException("Size must be more than 0");
+        this.numVertices = numVertices;
+    }
+
+    private void checkVertex(int v) {
+        if (v < 0 || v >= numVertices) throw new IndexOutOfBoundsException();
+    }
+
+    private static long edgeKey(int u, int v) {
+        return (long) Math.min(u, v) << 32 | Math.max(u, v);
+    }
+
+    private void record(int type, int u, int v) {
+        opType.addInt(type);
+        opU.addInt(u);
+        opV.addInt(v);
+    }
+
+    public void addEdge(int u, int v) {
+        checkVertex(u);
+        checkVertex(v);
+        IntStack times = openEdges.get(edgeKey(u, v));
+        if (times == null) {
+            times = new IntStack(1);
+            openEdges.put(edgeKey(u, v), times);
+        }
+        times.push(opType.size());
+        record(ADD, u, v);
+    }
+
+    // removes one copy of an edge added earlier
+    public void removeEdge(int u, int v) {
+        IntStack times = openEdges.get(edgeKey(u, v));
+        if (times == null || times.isEmpty()) throw new IllegalArgumentException("Edge (" + u + ", " + v + ") is not present");
+        times.pop();
+        record(REMOVE, u, v);
+    }
+
+    // returns the index of this query in the answers of run()
+    public int queryConnected(int u, int v) {
+        checkVertex(u);
+        checkVertex(v);
+        record(CONNECTED, u, v);
+        return numQueries++;
+    }
+
+    // returns the index of this query in the answers of run()
+    public int queryComponents() {
+        record(COMPONENTS, 0, 0);
+        return numQueries++;
+    }
+
+    // answers every query in order: 1 or 0 for queryConnected, the number of components for queryComponents
+    public int[] run() {
+        int numOps = opType.size();
+        int[] answers = new int[numQueries];
+        if (numOps == 0) return answers;
+
+        // pair up every add with its remove (or the end of the stream)
+        IntDynamicArray[] tree = new IntDynamicArray[4 * numOps];
+        IntDynamicArray edgeU = new IntDynamicArray();
+        IntDynamicArray edgeV = new IntDynamicArray();
+        LongObjectHashMap<IntStack> open = new LongObjectHashMap<>();
+        for (int t = 0; t < numOps; t++) {
+            int type = opType.getInt(t);
+            if (type != ADD && type != REMOVE) continue;
+            long key = edgeKey(opU.getInt(t), opV.getInt(t));
+            IntStack times = open.get(key);
+            if (type == ADD) {
+                if (times == null) {
+                    times = new IntStack(1);
+                    open.put(key, times);
+                }
+                times.push(t);
+            } else {
+                addInterval(tree, 1, 0, numOps, times.pop(), t, edgeU.size());
+                edgeU.addInt(opU.getInt(t));
+                edgeV.addInt(opV.getInt(t));
+            }
+        }
+        // edges still present at the end stay alive until the last operation
+        open.forEach((key, times) -> {
+            while (!times.isEmpty()) {
+                addInterval(tree, 1, 0, numOps, times.pop(), numOps, edgeU.size());
+                edgeU.addInt((int) (key >>> 32));
+                edgeV.addInt((int) key);
+            }
+        });
+
+        RollbackUnionFind unionFind = new RollbackUnionFind(numVertices);
+        int[] nextAnswer = {0};
+        walk(tree, 1, 0, numOps, unionFind, edgeU, edgeV, answers, nextAnswer);
+        return answers;
+    }
+
+    // store edge in the nodes of the segment tree covering [from, to)
+    private static void addInterval(IntDynamicArray[] tree, int node, int lo, int hi, int from, int to, int edge) {
+        if (to <= lo || hi <= from) return;
+        if (from <= lo && hi <= to) {
+            if (tree[node] == null) tree[node] = new IntDynamicArray();
+            tree[node].addInt(edge);
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        addInterval(tree, 2 * node, lo, mid, from, to, edge);
+        addInterval(tree, 2 * node + 1, mid, hi, from, to, edge);
+    }
+
+    // leaves are visited in time order, so answers are filled in query order
+    private void walk(IntDynamicArray[] tree, int node, int lo, int hi, RollbackUnionFind unionFind,
+                      IntDynamicArray edgeU, IntDynamicArray edgeV, int[] answers, int[] nextAnswer) {
+        int token = unionFind.snapshot();
+        IntDynamicArray edges = tree[node];
+        if (edges != null) {
+            for (int i = 0; i < edges.size(); i++) {
+                int edge = edges.getInt(i);
+                unionFind.union(edgeU.getInt(edge), edgeV.getInt(edge));
+            }
+        }
+
+        if (hi - lo == 1) {
+            int type = opType.getInt(lo);
+            if (type == CONNECTED) {
+                answers[nextAnswer[0]++] = unionFind.connected(opU.getInt(lo), opV.getInt(lo)) ? 1 : 0;
+            } else if (type == COMPONENTS) {
+                answers[nextAnswer[0]++] = unionFind.components();
+            }
+        } else {
+            int mid = (lo + hi) >>> 1;
+            walk(tree, 2 * node, lo, mid, unionFind, edgeU, edgeV, answers, nextAnswer);
+            walk(tree, 2 * node + 1, mid, hi, unionFind, edgeU, edgeV, answers, nextAnswer);
+        }
+        unionFind.rollback(token);
+    }
+}
@@ -0,0 +1,99 @@
+package unionfind;
+
+import stack.IntStack;
+
+// union find that can undo its unions
+// union is by size WITHOUT path compression - compression rewrites parents all
+// over the tree, which cannot be undone cheaply, while linking by size alone
+// changes exactly one parent per union and still keeps find at O(log n)
+
+// every successful union pushes the root it linked onto an undo log, so
+// rollback(token) costs O(number of unions undone)
+public class RollbackUnionFind {
+    private final int size;
+
+    // maintain an array with sizes of each component
+    private final int[] sz;
+
+    // point to the parent node of i, if i points to itself it is a root node
+    private final int[] rootId;
+
+    // number of grouped components = root nodes
+    private int numComponents;
+
+    // roots that were linked under another root, most recent on top
+    private final IntStack undoLog = new IntStack();
+
+    public RollbackUnionFind(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Size must be more than 0");
+        }
+        this.size = numComponents = size;
+        sz = new int[size];
+        rootId = new int[size];
+        for (int i = 0; i < size; i++) {
+            rootId[i] = i;
+            sz[i] = 1;
+        }
+    }
+
+    // find the group the node belongs to, read only
+    public int find(int node) {
+        while (node != rootId[node]) {
+            node = rootId[node];
+        }
+        return node;
+    }
+
+    public boolean connected(int node1, int node2) {
+        return find(node1) == find(node2);
+    }
+
+    public int componentSize(int node) {
+        return sz[find(node)];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int components() {
+        return numComponents;
+    }
+
+    // returns true if two components were merged (and logged)
+    public boolean union(int node1, int node2) {
+        int root1 = find(node1);
+        int root2 = find(node2);
+        if (root1 == root2) return false;
+
+        // link the smaller component under the bigger one
+        if (sz[root1] > sz[root2]) {
+            int tmp = root1;
+            root1 = root2;
+            root2 = tmp;
+        }
+        rootId[root1] = root2;
+        sz[root2] += sz[root1];
+        numComponents--;
+        undoLog.push(root1);
+        return true;
+    }
+
+    // checkpoint to pass to rollback later
+    public int snapshot() {
+        return undoLog.size();
+    }
+
+    // undoes every union made after snapshot() returned token
+    public void rollback(int token) {
+        if (token < 0 || token > undoLog.size()) throw new IllegalArgumentException("Invalid token " + token);
+        while (undoLog.size() > token) {
+            int child = undoLog.pop();
+            int parent = rootId[child];
+            sz[parent] -= sz[child];
+            rootId[child] = child;
+            numComponents++;
+        }
+    }
+}
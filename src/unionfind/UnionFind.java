@@ -18,7 +18,7 @@ public class UnionFind {
             throw new IllegalArgumentException("Size must be more than 0");
         }
         // initially all nodes are root nodes
-        this.size = size = numComponents;
+        this.size = numComponents = size;
         sz = new int[size];
         rootId = new int[size];
 